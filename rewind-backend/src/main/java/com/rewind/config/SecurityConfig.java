@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -13,6 +14,8 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.List;
 
@@ -20,9 +23,14 @@ import java.util.List;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final String ADMIN_KEY_HEADER = "X-Admin-Key";
+
     @Value("${cors.allowed-origins}")
     private String allowedOrigins;
 
+    @Value("${admin.api-key:}")
+    private String adminApiKey;
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
@@ -42,7 +50,13 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/v1/patterns/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/payments/plans").permitAll()
                         .requestMatchers("/api/v1/webhooks/**").permitAll() // Razorpay webhooks
-                        .requestMatchers("/health", "/actuator/**").permitAll()
+                        .requestMatchers("/health", "/actuator/health", "/actuator/health/**").permitAll()
+                        // AI usage and cost metrics are operator-only, same key as the admin API
+                        .requestMatchers("/actuator/metrics", "/actuator/metrics/**")
+                        .access((authentication, context) -> new AuthorizationDecision(
+                                hasAdminKey(context.getRequest().getHeader(ADMIN_KEY_HEADER))))
+                        // Checked against the admin API key in AdminController
+                        .requestMatchers("/api/v1/admin/**").permitAll()
                         // All other endpoints require authentication
                         .anyRequest().authenticated())
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -50,6 +64,15 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private boolean hasAdminKey(String key) {
+        if (adminApiKey == null || adminApiKey.isBlank() || key == null) {
+            return false;
+        }
+        // Constant-time comparison
+        return MessageDigest.isEqual(adminApiKey.getBytes(StandardCharsets.UTF_8),
+                key.getBytes(StandardCharsets.UTF_8));
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -21,6 +21,7 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .excludePathPatterns(
                         "/api/v1/auth/**",
                         "/api/v1/webhooks/**",
+                        "/api/v1/admin/**",
                         "/health",
                         "/actuator/**");
     }
@@ -0,0 +1,114 @@
+package com.rewind.controller;
+
+import com.rewind.service.CatalogImportService;
+import com.rewind.service.ProgressCounterService;
+import com.rewind.service.QuestionCatalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Operational endpoints, authenticated with the X-Admin-Key header instead of
+ * a user session. Disabled while admin.api-key is not set.
+ */
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+        static final String ADMIN_KEY_HEADER = "X-Admin-Key";
+
+        private final ProgressCounterService progressCounterService;
+        private final QuestionCatalog questionCatalog;
+        private final CatalogImportService catalogImportService;
+
+        @Value("${admin.api-key:}")
+        private String adminApiKey;
+
+        /**
+         * Recompute progress counters from source tables, for one user or for
+         * everyone. The repair job picks the flagged rows up.
+         */
+        @PostMapping("/progress-counters/rebuild")
+        public ResponseEntity<Map<String, Object>> rebuildProgressCounters(
+                        @RequestHeader(value = ADMIN_KEY_HEADER, required = false) String key,
+                        @RequestParam(required = false) UUID userId) {
+                if (!isAdmin(key)) {
+                        return ResponseEntity.status(403).build();
+                }
+                if (userId != null) {
+                        progressCounterService.requestRebuild(userId);
+                        return ResponseEntity.accepted().body(Map.of("flagged", 1));
+                }
+                return ResponseEntity.accepted().body(Map.of("flagged", progressCounterService.requestRebuildAll()));
+        }
+
+        /**
+         * Reload the in-memory question catalog after editing questions or patterns.
+         */
+        @PostMapping("/catalog/reload")
+        public ResponseEntity<Map<String, Object>> reloadCatalog(
+                        @RequestHeader(value = ADMIN_KEY_HEADER, required = false) String key) {
+                if (!isAdmin(key)) {
+                        return ResponseEntity.status(403).build();
+                }
+                QuestionCatalog.Snapshot snapshot = questionCatalog.reload();
+                return ResponseEntity.ok(Map.of(
+                                "version", snapshot.version(),
+                                "questions", snapshot.questions().size(),
+                                "patterns", snapshot.patterns().size()));
+        }
+
+        /**
+         * Bulk-import questions and patterns from a CSV or JSON request body
+         * (see CatalogImportService for the columns). The format comes from
+         * ?format= or the Content-Type; with dryRun=true rows are only validated.
+         */
+        @PostMapping("/catalog/import")
+        public ResponseEntity<?> importCatalog(
+                        @RequestHeader(value = ADMIN_KEY_HEADER, required = false) String key,
+                        @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                        @RequestParam(required = false) String format,
+                        @RequestParam(defaultValue = "false") boolean dryRun,
+                        InputStream body) {
+                if (!isAdmin(key)) {
+                        return ResponseEntity.status(403).build();
+                }
+
+                CatalogImportService.Format importFormat;
+                if (format != null) {
+                        try {
+                                importFormat = CatalogImportService.Format.valueOf(format.toUpperCase());
+                        } catch (IllegalArgumentException e) {
+                                return ResponseEntity.badRequest().body(Map.of("error", "format must be csv or json"));
+                        }
+                } else if (contentType != null && contentType.toLowerCase().contains("csv")) {
+                        importFormat = CatalogImportService.Format.CSV;
+                } else {
+                        importFormat = CatalogImportService.Format.JSON;
+                }
+
+                try {
+                        return ResponseEntity.ok(catalogImportService.importCatalog(body, importFormat, dryRun));
+                } catch (IllegalArgumentException e) {
+                        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+                }
+        }
+
+        private boolean isAdmin(String key) {
+                if (adminApiKey == null || adminApiKey.isBlank() || key == null) {
+                        return false;
+                }
+                // Constant-time comparison
+                return MessageDigest.isEqual(adminApiKey.getBytes(StandardCharsets.UTF_8),
+                                key.getBytes(StandardCharsets.UTF_8));
+        }
+}
@@ -1,6 +1,8 @@
 package com.rewind.controller;
 
+import com.rewind.model.AiUsageDaily;
 import com.rewind.model.User;
+import com.rewind.repository.AiUsageDailyRepository;
 import com.rewind.service.AnalyticsService;
 import com.rewind.service.AnalyticsService.*;
 import lombok.RequiredArgsConstructor;
@@ -8,6 +10,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Map;
 
@@ -17,6 +21,7 @@ import java.util.Map;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final AiUsageDailyRepository aiUsageRepository;
 
     /**
      * Get daily progress for the last N days (default 30).
@@ -63,4 +68,18 @@ public class AnalyticsController {
                 "patternProgress", analyticsService.getPatternProgress(user),
                 "streak", analyticsService.getStreakData(user)));
     }
+
+    /**
+     * Get the user's daily AI usage (calls, tokens, estimated cost) per feature
+     * for the last N days (default 30).
+     */
+    @GetMapping("/ai-usage")
+    public ResponseEntity<List<AiUsageDaily>> getAiUsage(
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "30") int days) {
+
+        LocalDate since = LocalDate.now(ZoneOffset.UTC).minusDays(days - 1L);
+        return ResponseEntity.ok(aiUsageRepository
+                .findByUserIdAndUsageDateGreaterThanEqualOrderByUsageDateDesc(user.getId(), since));
+    }
 }
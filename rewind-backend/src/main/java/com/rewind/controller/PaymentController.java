@@ -1,8 +1,11 @@
 package com.rewind.controller;
 
 import com.razorpay.RazorpayException;
+import com.rewind.dto.CursorPage;
+import com.rewind.model.Payment;
 import com.rewind.model.Subscription;
 import com.rewind.model.User;
+import com.rewind.repository.PaymentRepository;
 import com.rewind.service.PaymentService;
 import com.rewind.service.PaymentService.CreateOrderResponse;
 import com.rewind.service.PaymentService.VerifyPaymentResponse;
@@ -13,7 +16,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/payments")
@@ -22,6 +28,7 @@ import java.util.Map;
 public class PaymentController {
 
         private final PaymentService paymentService;
+        private final PaymentRepository paymentRepository;
 
         /**
          * Create a Razorpay order for checkout.
@@ -74,6 +81,39 @@ public class PaymentController {
                 }
         }
 
+        /**
+         * The user's payments, newest first, keyset-paginated.
+         */
+        @GetMapping("/history")
+        public ResponseEntity<?> getHistory(
+                        @AuthenticationPrincipal User user,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(required = false) Integer limit) {
+                int pageLimit = CursorPage.clampLimit(limit);
+                List<Payment> rows;
+                try {
+                        if (cursor == null) {
+                                rows = paymentRepository.findFirstPage(user.getId(), pageLimit + 1);
+                        } else {
+                                CursorPage.TimeCursor after = CursorPage.decodeTime(cursor);
+                                rows = paymentRepository.findPageAfter(user.getId(), after.createdAt(), after.id(),
+                                                pageLimit + 1);
+                        }
+                } catch (IllegalArgumentException e) {
+                        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+                }
+
+                return ResponseEntity.ok(CursorPage.of(rows, pageLimit,
+                                p -> CursorPage.encode(p.getCreatedAt(), p.getId()),
+                                p -> new PaymentInfo(
+                                                p.getId(),
+                                                p.getAmountInr(),
+                                                p.getStatus().name(),
+                                                p.getRazorpayOrderId(),
+                                                p.getRazorpayPaymentId(),
+                                                p.getCreatedAt())));
+        }
+
         /**
          * Get available plans with pricing.
          */
@@ -104,6 +144,15 @@ public class PaymentController {
         public record CreateOrderRequest(String plan) {
         }
 
+        public record PaymentInfo(
+                        UUID id,
+                        Integer amountInr, // paise
+                        String status,
+                        String razorpayOrderId,
+                        String razorpayPaymentId,
+                        Instant createdAt) {
+        }
+
         public record VerifyPaymentRequest(
                         String razorpayOrderId,
                         String razorpayPaymentId,
@@ -1,129 +1,293 @@
 package com.rewind.controller;
 
+import com.rewind.dto.CursorPage;
 import com.rewind.dto.QuestionDTO.*;
-import com.rewind.model.Pattern;
-import com.rewind.model.Question;
-import com.rewind.repository.PatternRepository;
-import com.rewind.repository.QuestionRepository;
+import com.rewind.model.User;
+import com.rewind.service.CatalogResponseCache;
+import com.rewind.service.ProgressVectorService;
+import com.rewind.service.QuestionCatalog;
+import com.rewind.service.QuestionCatalog.CatalogPattern;
+import com.rewind.service.QuestionCatalog.CatalogQuestion;
+import com.rewind.service.QuestionRecommender;
+import com.rewind.service.QuestionSearchIndex;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+/**
+ * Catalog endpoints, served from the in-memory QuestionCatalog. List
+ * responses are pre-rendered per catalog version (gzip, strong ETag, 304).
+ * GET /questions supports keyset pagination on order_index (?limit=&cursor=)
+ * alongside the older page/size mode.
+ */
 @RestController
 @RequestMapping("/api/v1")
 @RequiredArgsConstructor
 public class QuestionController {
 
-    private final QuestionRepository questionRepository;
-    private final PatternRepository patternRepository;
+    private static final int MAX_QUERY_LENGTH = 100;
+    private static final int MAX_SEARCH_RESULTS = 50;
+    private static final int MAX_RECOMMENDATIONS = 50;
+
+    // Same values as the questions.difficulty check constraint
+    private static final Set<String> DIFFICULTIES = Set.of("Easy", "Medium", "Hard");
+
+    // Cache key of the unfiltered GET /questions list
+    private static final String FULL_CATALOG_KEY = "questions?difficulty=null&patternId=null";
+
+    private final QuestionCatalog questionCatalog;
+    private final CatalogResponseCache responseCache;
+    private final ProgressVectorService progressVectorService;
+    private final QuestionSearchIndex searchIndex;
+    private final QuestionRecommender recommender;
 
     @GetMapping("/questions")
     public ResponseEntity<?> getAllQuestions(
             @RequestParam(required = false) String difficulty,
             @RequestParam(required = false) UUID patternId,
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false, defaultValue = "30") Integer size) {
+            @RequestParam(required = false, defaultValue = "30") Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        // Filters are part of the cache key, so only known values get that far
+        if (difficulty != null && !DIFFICULTIES.contains(difficulty)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "difficulty must be one of Easy, Medium, Hard"));
+        }
+        if (patternId != null && !questionCatalog.snapshot().patternsById().containsKey(patternId)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Unknown patternId"));
+        }
+
+        // Keyset pagination: ?limit= starts, ?cursor= continues
+        if (cursor != null || limit != null) {
+            int pageLimit = CursorPage.clampLimit(limit);
+            int after;
+            try {
+                after = cursor != null ? CursorPage.decodeOrderIndex(cursor) : Integer.MIN_VALUE;
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+            String key = "questions?difficulty=" + difficulty + "&patternId=" + patternId
+                    + "&after=" + after + "&limit=" + pageLimit;
+            return responseCache.respond(key, ifNoneMatch, acceptEncoding,
+                    () -> getQuestionsAfter(difficulty, patternId, after, pageLimit));
+        }
 
         // If pagination requested
         if (page != null) {
-            return getQuestionsPaginated(difficulty, patternId, page, size);
+            if (page < 0 || size < 1) {
+                return ResponseEntity.badRequest().build();
+            }
+            String key = "questions?difficulty=" + difficulty + "&patternId=" + patternId
+                    + "&page=" + page + "&size=" + size;
+            return responseCache.respond(key, ifNoneMatch, acceptEncoding,
+                    () -> getQuestionsPaginated(difficulty, patternId, page, size));
         }
 
-        // Non-paginated (optimized with JOIN FETCH)
-        List<Question> questions;
+        return responseCache.respond("questions?difficulty=" + difficulty + "&patternId=" + patternId,
+                ifNoneMatch, acceptEncoding, () -> listQuestions(difficulty, patternId));
+    }
 
-        if (difficulty != null && patternId != null) {
-            questions = questionRepository.findByPatternIdAndDifficultyWithPatternOrderByOrderIndex(patternId,
-                    difficulty);
-        } else if (difficulty != null) {
-            questions = questionRepository.findByDifficultyWithPatternOrderByOrderIndex(difficulty);
-        } else if (patternId != null) {
-            questions = questionRepository.findByPatternIdWithPatternOrderByOrderIndex(patternId);
-        } else {
-            questions = questionRepository.findAllWithPatternOrderByOrderIndex();
+    /**
+     * The user's progress as a 2-bit status vector aligned to the unfiltered
+     * GET /questions list, plus that list's ETags (identity and gzip). A
+     * client holding the catalog under either ETag joins the two locally;
+     * otherwise it refetches the catalog first.
+     */
+    @GetMapping("/questions/progress-vector")
+    public ResponseEntity<ProgressVectorResponse> getProgressVector(@AuthenticationPrincipal User user) {
+        if (user == null) {
+            return ResponseEntity.status(401).build();
         }
 
-        List<QuestionResponse> response = questions.stream()
+        // Vector and ETags must describe the same snapshot; retry if a reload lands in between
+        QuestionCatalog.Snapshot snapshot;
+        List<String> etags;
+        do {
+            snapshot = questionCatalog.snapshot();
+            etags = responseCache.etags(FULL_CATALOG_KEY, () -> listQuestions(null, null));
+        } while (snapshot.version() != questionCatalog.snapshot().version());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ProgressVectorResponse.builder()
+                        .catalogEtags(etags)
+                        .catalogVersion(snapshot.version())
+                        .questionCount(snapshot.questions().size())
+                        .bitsPerQuestion(ProgressVectorService.BITS_PER_QUESTION)
+                        .vector(progressVectorService.encode(user.getId(), snapshot))
+                        .build());
+    }
+
+    private List<QuestionResponse> listQuestions(String difficulty, UUID patternId) {
+        return filter(difficulty, patternId).stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
-
-        return ResponseEntity.ok(response);
     }
 
-    private ResponseEntity<PagedQuestionResponse> getQuestionsPaginated(
-            String difficulty, UUID patternId, int page, int size) {
-
-        PageRequest pageable = PageRequest.of(page, size);
-        Page<Question> questionsPage;
+    // Catalog lists are in order_index order, so filtered lists are too
+    private List<CatalogQuestion> filter(String difficulty, UUID patternId) {
+        List<CatalogQuestion> questions;
 
-        if (difficulty != null) {
-            questionsPage = questionRepository.findByDifficultyWithPatternPaginated(difficulty, pageable);
+        if (difficulty != null && patternId != null) {
+            questions = questionCatalog.questionsByPattern(patternId).stream()
+                    .filter(q -> q.difficulty().equals(difficulty))
+                    .collect(Collectors.toList());
+        } else if (difficulty != null) {
+            questions = questionCatalog.questionsByDifficulty(difficulty);
         } else if (patternId != null) {
-            questionsPage = questionRepository.findByPatternIdWithPatternPaginated(patternId, pageable);
+            questions = questionCatalog.questionsByPattern(patternId);
         } else {
-            questionsPage = questionRepository.findAllWithPatternPaginated(pageable);
+            questions = questionCatalog.questions();
         }
+        return questions;
+    }
 
-        List<QuestionResponse> content = questionsPage.getContent().stream()
+    /**
+     * The next {@code limit} questions with order_index greater than {@code after};
+     * the start is found by binary search, so no offset is walked or counted.
+     */
+    private CursorPage<QuestionResponse> getQuestionsAfter(String difficulty, UUID patternId, int after, int limit) {
+        List<CatalogQuestion> questions = filter(difficulty, patternId);
+
+        int low = 0;
+        int high = questions.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (questions.get(mid).orderIndex() <= after) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        List<CatalogQuestion> rows = questions.subList(low, Math.min(questions.size(), low + limit + 1));
+        return CursorPage.of(rows, limit, q -> CursorPage.encode(q.orderIndex()), this::toResponse);
+    }
+
+    private PagedQuestionResponse getQuestionsPaginated(String difficulty, UUID patternId, int page, int size) {
+        List<CatalogQuestion> questions = filter(difficulty, patternId);
+
+        int total = questions.size();
+        int from = (int) Math.min((long) page * size, total);
+        int to = (int) Math.min((long) from + size, total);
+        int totalPages = (total + size - 1) / size;
+
+        List<QuestionResponse> content = questions.subList(from, to).stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
 
-        PagedQuestionResponse response = PagedQuestionResponse.builder()
+        return PagedQuestionResponse.builder()
                 .content(content)
                 .page(page)
                 .size(size)
-                .totalElements(questionsPage.getTotalElements())
-                .totalPages(questionsPage.getTotalPages())
-                .hasNext(questionsPage.hasNext())
+                .totalElements(total)
+                .totalPages(totalPages)
+                .hasNext(page + 1 < totalPages)
                 .build();
+    }
 
-        return ResponseEntity.ok(response);
+    /**
+     * Unsolved questions ranked for the user (pattern weakness, importance,
+     * difficulty and length against readiness progress).
+     */
+    @GetMapping("/questions/recommended")
+    public ResponseEntity<List<RecommendationResponse>> getRecommended(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false, defaultValue = "5") Integer limit) {
+        if (user == null) {
+            return ResponseEntity.status(401).build();
+        }
+        return ResponseEntity.ok(recommender.recommend(user, Math.max(1, Math.min(limit, MAX_RECOMMENDATIONS)))
+                .stream()
+                .map(r -> new RecommendationResponse(toResponse(r.question()), r.score(), r.reason().name()))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Typo-tolerant search over titles, pattern names, categories and mental
+     * models, best match first.
+     */
+    @GetMapping("/questions/search")
+    public ResponseEntity<?> searchQuestions(
+            @RequestParam String q,
+            @RequestParam(required = false, defaultValue = "20") Integer limit) {
+        if (q.isBlank() || q.length() > MAX_QUERY_LENGTH) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Query must be 1-" + MAX_QUERY_LENGTH
+                    + " characters"));
+        }
+        List<SearchResult> results = searchIndex.search(q, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)))
+                .stream()
+                .map(hit -> new SearchResult(toResponse(hit.question()), hit.score()))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(results);
     }
 
     @GetMapping("/questions/{id}")
     public ResponseEntity<QuestionResponse> getQuestion(@PathVariable UUID id) {
-        return questionRepository.findByIdWithPattern(id)
+        return questionCatalog.findQuestion(id)
                 .map(this::toResponse)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/patterns")
-    public ResponseEntity<List<PatternInfo>> getAllPatterns() {
-        List<PatternInfo> patterns = patternRepository.findAll().stream()
-                .map(this::toPatternInfo)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(patterns);
+    public ResponseEntity<byte[]> getAllPatterns(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return responseCache.respond("patterns", ifNoneMatch, acceptEncoding,
+                () -> questionCatalog.patterns().stream()
+                        .map(this::toPatternInfo)
+                        .collect(Collectors.toList()));
     }
 
-    private QuestionResponse toResponse(Question q) {
+    private QuestionResponse toResponse(CatalogQuestion q) {
         return QuestionResponse.builder()
-                .id(q.getId())
-                .title(q.getTitle())
-                .difficulty(q.getDifficulty())
-                .leetcodeUrl(q.getLeetcodeUrl())
-                .timeMinutes(q.getTimeMinutes())
-                .orderIndex(q.getOrderIndex())
-                .pattern(toPatternInfo(q.getPattern()))
+                .id(q.id())
+                .title(q.title())
+                .difficulty(q.difficulty())
+                .leetcodeUrl(q.leetcodeUrl())
+                .timeMinutes(q.timeMinutes())
+                .orderIndex(q.orderIndex())
+                .pattern(toPatternInfo(q.pattern()))
                 .build();
     }
 
-    private PatternInfo toPatternInfo(Pattern p) {
+    private PatternInfo toPatternInfo(CatalogPattern p) {
         return PatternInfo.builder()
-                .id(p.getId())
-                .name(p.getName())
-                .category(p.getCategory())
-                .shortMentalModel(p.getShortMentalModel())
+                .id(p.id())
+                .name(p.name())
+                .category(p.category())
+                .shortMentalModel(p.shortMentalModel())
                 .build();
     }
 
+    public record SearchResult(QuestionResponse question, double score) {
+    }
+
+    public record RecommendationResponse(QuestionResponse question, double score, String reason) {
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    public static class ProgressVectorResponse {
+        private List<String> catalogEtags; // identity and gzip ETags of GET /questions
+        private long catalogVersion;
+        private int questionCount;
+        private int bitsPerQuestion;
+        private String vector; // base64, 0 = not started, 1 = started, 2 = done
+    }
+
     @lombok.Data
     @lombok.Builder
     public static class PagedQuestionResponse {
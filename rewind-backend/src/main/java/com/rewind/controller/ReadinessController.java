@@ -1,6 +1,8 @@
 package com.rewind.controller;
 
+import com.rewind.dto.CursorPage;
 import com.rewind.dto.ReadinessDTO.*;
+import com.rewind.model.ReadinessEvent;
 import com.rewind.model.User;
 import com.rewind.model.UserPatternStats;
 import com.rewind.repository.ReadinessEventRepository;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -85,6 +88,37 @@ public class ReadinessController {
                                 .build());
         }
 
+        /**
+         * Full readiness event history, newest first, keyset-paginated.
+         */
+        @GetMapping("/events")
+        public ResponseEntity<?> getEvents(
+                        @AuthenticationPrincipal User user,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(required = false) Integer limit) {
+                int pageLimit = CursorPage.clampLimit(limit);
+                List<ReadinessEvent> rows;
+                try {
+                        if (cursor == null) {
+                                rows = eventRepository.findFirstPage(user.getId(), pageLimit + 1);
+                        } else {
+                                CursorPage.TimeCursor after = CursorPage.decodeTime(cursor);
+                                rows = eventRepository.findPageAfter(user.getId(), after.createdAt(), after.id(),
+                                                pageLimit + 1);
+                        }
+                } catch (IllegalArgumentException e) {
+                        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+                }
+
+                return ResponseEntity.ok(CursorPage.of(rows, pageLimit,
+                                e -> CursorPage.encode(e.getCreatedAt(), e.getId()),
+                                e -> ReadinessEventInfo.builder()
+                                                .delta(e.getChangeDeltaDays())
+                                                .reason(e.getReason())
+                                                .createdAt(e.getCreatedAt())
+                                                .build()));
+        }
+
         /**
          * Calculate a weakness score for a pattern.
          * Higher score = weaker pattern.
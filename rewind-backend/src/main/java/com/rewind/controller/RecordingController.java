@@ -5,6 +5,7 @@ import com.rewind.model.*;
 import com.rewind.repository.ExplanationRecordingRepository;
 import com.rewind.repository.SolutionRepository;
 import com.rewind.service.GeminiService;
+import com.rewind.service.IdempotencyService;
 import com.rewind.service.TranscriptService;
 import com.rewind.service.UserQuestionService;
 import lombok.RequiredArgsConstructor;
@@ -15,8 +16,10 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -33,14 +36,25 @@ public class RecordingController {
         private final TranscriptService transcriptService;
         private final SolutionRepository solutionRepository;
         private final ExplanationRecordingRepository recordingRepository;
+        private final IdempotencyService idempotencyService;
 
         @Value("${supabase.url}")
         private String supabaseUrl;
 
+        // An in-flight analysis older than this is assumed lost and may be restarted
+        @Value("${gemini.resilience.analysis-stale-after:10m}")
+        private Duration analysisStaleAfter;
+
         @PostMapping("/upload-url")
-        public ResponseEntity<UploadUrlResponse> getUploadUrl(
+        public ResponseEntity<?> getUploadUrl(
                         @AuthenticationPrincipal User user,
+                        @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                         @RequestBody UploadUrlRequest request) {
+                return idempotencyService.execute(user.getId(), idempotencyKey, "POST /recordings/upload-url",
+                                () -> createUploadUrl(user, request));
+        }
+
+        private ResponseEntity<UploadUrlResponse> createUploadUrl(User user, UploadUrlRequest request) {
                 // Generate storage path
                 String audioPath = String.format(
                                 "recordings/%s/%s/v%d.webm",
@@ -60,9 +74,15 @@ public class RecordingController {
         }
 
         @PostMapping
-        public ResponseEntity<Map<String, Object>> saveRecording(
+        public ResponseEntity<?> saveRecording(
                         @AuthenticationPrincipal User user,
+                        @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                         @RequestBody SaveRecordingRequest request) {
+                return idempotencyService.execute(user.getId(), idempotencyKey, "POST /recordings",
+                                () -> createRecording(user, request));
+        }
+
+        private ResponseEntity<Map<String, Object>> createRecording(User user, SaveRecordingRequest request) {
                 ExplanationRecording recording = userQuestionService.saveRecording(
                                 user,
                                 request.getUserQuestionId(),
@@ -79,25 +99,50 @@ public class RecordingController {
 
         /**
          * Analyze a recording and generate AI feedback.
+         * With deep=true the communication tip always comes from Gemini instead of
+         * the local transcript metrics. While an analysis is already PENDING or
+         * PROCESSING the request attaches to it instead of starting another one.
          */
         @PostMapping("/{recordingId}/analyze")
-        @Transactional
-        public ResponseEntity<Void> analyzeRecording(
+        public ResponseEntity<?> analyzeRecording(
                         @AuthenticationPrincipal User user,
-                        @PathVariable UUID recordingId) {
+                        @PathVariable UUID recordingId,
+                        @RequestParam(defaultValue = "false") boolean deep,
+                        @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+                return idempotencyService.execute(user.getId(), idempotencyKey,
+                                "POST /recordings/" + recordingId + "/analyze",
+                                () -> startAnalysis(user, recordingId, deep));
+        }
 
-                var recording = recordingRepository.findById(recordingId)
-                                .orElseThrow(() -> new RuntimeException("Recording not found"));
+        private ResponseEntity<Map<String, Object>> startAnalysis(User user, UUID recordingId, boolean deep) {
+                Instant now = Instant.now();
+
+                // Atomic: only one request can move the recording into a new analysis run.
+                // Committed before dispatch so the async job sees the claimed state.
+                int claimed = recordingRepository.claimAnalysis(recordingId, user.getId(), now,
+                                now.minus(analysisStaleAfter), ExplanationRecording.AnalysisStatus.PENDING);
+                if (claimed == 1) {
+                        geminiService.processRecording(recordingId, deep);
+                        return ResponseEntity.accepted().body(Map.of(
+                                        "recordingId", recordingId,
+                                        "analysisStatus", ExplanationRecording.AnalysisStatus.PENDING.name(),
+                                        "deduplicated", false));
+                }
 
-                // Basic security check
-                if (!recording.getUserQuestion().getUser().getId().equals(user.getId())) {
+                var status = recordingRepository.findAnalysisStatusByIdAndUserId(recordingId, user.getId());
+                if (status.isEmpty()) {
+                        if (!recordingRepository.existsById(recordingId)) {
+                                throw new RuntimeException("Recording not found");
+                        }
+                        // Basic security check
                         return ResponseEntity.status(403).build();
                 }
 
-                // Trigger async analysis
-                geminiService.processRecording(recordingId);
-
-                return ResponseEntity.accepted().build();
+                log.info("Analysis for recording {} already in flight ({}), attaching", recordingId, status.get());
+                return ResponseEntity.accepted().body(Map.of(
+                                "recordingId", recordingId,
+                                "analysisStatus", status.get().name(),
+                                "deduplicated", true));
         }
 
         /**
@@ -109,27 +154,42 @@ public class RecordingController {
                         @AuthenticationPrincipal User user,
                         @PathVariable UUID recordingId) {
 
-                var recording = recordingRepository.findById(recordingId)
-                                .orElseThrow(() -> new RuntimeException("Recording not found"));
-
-                // Basic security check
-                if (!recording.getUserQuestion().getUser().getId().equals(user.getId())) {
+                // Ownership is checked in the query
+                var recording = recordingRepository.findByIdAndUserId(recordingId, user.getId()).orElse(null);
+                if (recording == null) {
+                        if (!recordingRepository.existsById(recordingId)) {
+                                throw new RuntimeException("Recording not found");
+                        }
+                        // Basic security check
                         return ResponseEntity.status(403).build();
                 }
 
                 // Get feedback specific to this recording (or empty for legacy recordings)
                 List<AIFeedback> feedbackList = geminiService.getFeedbackByRecording(recordingId);
 
-                return ResponseEntity.ok(Map.of(
-                                "analysisStatus",
+                Map<String, Object> response = new LinkedHashMap<>();
+                response.put("analysisStatus",
                                 recording.getAnalysisStatus() != null ? recording.getAnalysisStatus().name()
-                                                : "COMPLETED",
-                                "feedback", feedbackList.stream()
-                                                .map(f -> Map.<String, Object>of(
-                                                                "id", f.getId(),
-                                                                "type", f.getFeedbackType().name(),
-                                                                "message", f.getMessage(),
-                                                                "createdAt", f.getCreatedAt()))
-                                                .collect(Collectors.toList())));
+                                                : "COMPLETED");
+                response.put("feedback", feedbackList.stream()
+                                .map(f -> Map.<String, Object>of(
+                                                "id", f.getId(),
+                                                "type", f.getFeedbackType().name(),
+                                                "message", f.getMessage(),
+                                                "createdAt", f.getCreatedAt()))
+                                .collect(Collectors.toList()));
+                if (recording.getWordCount() != null) {
+                        Map<String, Object> metrics = new LinkedHashMap<>();
+                        metrics.put("wordCount", recording.getWordCount());
+                        metrics.put("wordsPerMinute", recording.getWordsPerMinute());
+                        metrics.put("fillerDensity", recording.getFillerDensity());
+                        metrics.put("avgSentenceWords", recording.getAvgSentenceWords());
+                        metrics.put("maxSentenceWords", recording.getMaxSentenceWords());
+                        metrics.put("complexityTerms", recording.getComplexityTerms());
+                        metrics.put("structureMarkers", recording.getStructureMarkers());
+                        response.put("transcriptMetrics", metrics);
+                }
+
+                return ResponseEntity.ok(response);
         }
 }
@@ -3,7 +3,10 @@ package com.rewind.controller;
 import com.rewind.dto.RevisionDTO.*;
 import com.rewind.model.*;
 import com.rewind.repository.ExplanationRecordingRepository;
+import com.rewind.service.QuestionCatalog;
+import com.rewind.service.QuestionCatalog.CatalogQuestion;
 import com.rewind.service.ReadinessService;
+import com.rewind.service.RevisionQueueBatchJob;
 import com.rewind.service.RevisionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +28,8 @@ public class RevisionController {
         private final RevisionService revisionService;
         private final ReadinessService readinessService;
         private final ExplanationRecordingRepository recordingRepository;
+        private final RevisionQueueBatchJob revisionQueueBatchJob;
+        private final QuestionCatalog questionCatalog;
 
         @GetMapping("/pending")
         public ResponseEntity<Map<String, Object>> getPendingRevisions(
@@ -44,8 +49,9 @@ public class RevisionController {
                         @AuthenticationPrincipal User user) {
                 List<RevisionSchedule> today = revisionService.getTodayRevisions(user);
 
-                // If no scheduled revisions, generate new ones
-                if (today.isEmpty()) {
+                // If no scheduled revisions, generate new ones (only needed until the
+                // nightly batch has built today's queues)
+                if (today.isEmpty() && !revisionQueueBatchJob.hasCompletedToday()) {
                         today = revisionService.generateDailyQueue(user);
                 }
 
@@ -57,25 +63,28 @@ public class RevisionController {
         }
 
         @PostMapping("/{scheduleId}/complete")
-        public ResponseEntity<CompleteRevisionResponse> completeRevision(
+        public ResponseEntity<?> completeRevision(
                         @AuthenticationPrincipal User user,
                         @PathVariable UUID scheduleId,
                         @RequestBody CompleteRevisionRequest request) {
-                // Find schedule
-                RevisionSchedule schedule = revisionService.getPendingRevisions(user).stream()
-                                .filter(s -> s.getId().equals(scheduleId))
-                                .findFirst()
-                                .orElseThrow(() -> new IllegalArgumentException("Revision not found"));
-
-                // Complete revision
+                // Complete revision (indexed lookup by id and owner, then atomic update)
                 RevisionSession session = revisionService.completeRevision(
-                                schedule,
+                                user,
+                                scheduleId,
                                 request.getListenedVersion(),
                                 request.getRerecorded() != null ? request.getRerecorded() : false,
-                                request.getNewConfidenceScore());
+                                request.getNewConfidenceScore())
+                                .orElse(null);
+                if (session == null) {
+                        if (revisionService.revisionExists(user, scheduleId)) {
+                                return ResponseEntity.status(409)
+                                                .body(Map.of("error", "Revision already completed"));
+                        }
+                        throw new IllegalArgumentException("Revision not found");
+                }
 
-                // Calculate readiness bonus
-                readinessService.calculateRevisionCompletion(user, schedule);
+                // Calculate readiness bonus (question was fetched with the schedule)
+                readinessService.calculateRevisionCompletion(user, session.getRevisionSchedule());
 
                 return ResponseEntity.ok(CompleteRevisionResponse.builder()
                                 .sessionId(session.getId())
@@ -96,7 +105,9 @@ public class RevisionController {
         }
 
         private RevisionScheduleResponse toResponse(RevisionSchedule rs) {
-                Question q = rs.getUserQuestion().getQuestion();
+                // Question metadata from the catalog
+                CatalogQuestion q = questionCatalog.findQuestion(rs.getUserQuestion().getQuestion().getId())
+                                .orElseThrow(() -> new IllegalStateException("Question missing from catalog"));
 
                 // Get last recording
                 var lastRecording = recordingRepository
@@ -118,11 +129,11 @@ public class RevisionController {
                 return RevisionScheduleResponse.builder()
                                 .scheduleId(rs.getId())
                                 .question(QuestionInfo.builder()
-                                                .id(q.getId())
-                                                .title(q.getTitle())
-                                                .difficulty(q.getDifficulty())
-                                                .pattern(q.getPattern().getName())
-                                                .leetcodeUrl(q.getLeetcodeUrl())
+                                                .id(q.id())
+                                                .title(q.title())
+                                                .difficulty(q.difficulty())
+                                                .pattern(q.pattern().name())
+                                                .leetcodeUrl(q.leetcodeUrl())
                                                 .build())
                                 .reason(rs.getReason().name())
                                 .priorityScore(rs.getPriorityScore())
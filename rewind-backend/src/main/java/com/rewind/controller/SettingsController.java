@@ -0,0 +1,56 @@
+package com.rewind.controller;
+
+import com.rewind.model.User;
+import com.rewind.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-user settings. The time zone decides day boundaries for the heatmap,
+ * weekly progress and streaks; changing it makes the progress counters rebuild
+ * for the new zone on next use.
+ */
+@RestController
+@RequestMapping("/api/v1/settings")
+@RequiredArgsConstructor
+public class SettingsController {
+
+        // IANA region ids only: Postgres reads numeric offsets with inverted (POSIX) signs.
+        // getAvailableZoneIds() builds a new set on every call, so it is read once.
+        private static final Set<String> ZONE_IDS = Set.copyOf(ZoneId.getAvailableZoneIds());
+
+        private final UserRepository userRepository;
+
+        @GetMapping
+        public ResponseEntity<SettingsResponse> getSettings(@AuthenticationPrincipal User user) {
+                return ResponseEntity.ok(new SettingsResponse(user.zoneId().getId()));
+        }
+
+        @PutMapping
+        public ResponseEntity<?> updateSettings(
+                        @AuthenticationPrincipal User user,
+                        @RequestBody SettingsRequest request) {
+                String timeZone = request.timeZone();
+                if (timeZone == null || !ZONE_IDS.contains(timeZone)) {
+                        return ResponseEntity.badRequest()
+                                        .body(Map.of("error", "timeZone must be an IANA zone id, e.g. Asia/Kolkata"));
+                }
+
+                userRepository.updateTimeZone(user.getId(), timeZone, Instant.now());
+                user.setTimeZone(timeZone);
+                return ResponseEntity.ok(new SettingsResponse(timeZone));
+        }
+
+        public record SettingsRequest(String timeZone) {
+        }
+
+        public record SettingsResponse(String timeZone) {
+        }
+}
@@ -0,0 +1,34 @@
+package com.rewind.controller;
+
+import com.rewind.dto.SyncDTO.*;
+import com.rewind.model.User;
+import com.rewind.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+        private final SyncService syncService;
+
+        /**
+         * Apply mutations queued by the client while offline, in order, with one
+         * result per operation.
+         */
+        @PostMapping
+        public ResponseEntity<?> sync(
+                        @AuthenticationPrincipal User user,
+                        @RequestBody SyncRequest request) {
+                String error = syncService.validate(request.getOperations());
+                if (error != null) {
+                        return ResponseEntity.badRequest().body(Map.of("error", error));
+                }
+                return ResponseEntity.ok(syncService.sync(user, request.getOperations()));
+        }
+}
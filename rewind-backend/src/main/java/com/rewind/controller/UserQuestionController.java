@@ -1,8 +1,12 @@
 package com.rewind.controller;
 
+import com.rewind.dto.CursorPage;
 import com.rewind.dto.QuestionDTO.*;
 import com.rewind.model.*;
 import com.rewind.repository.*;
+import com.rewind.service.DayBuckets;
+import com.rewind.service.QuestionCatalog;
+import com.rewind.service.QuestionCatalog.CatalogQuestion;
 import com.rewind.service.UserQuestionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -32,12 +36,15 @@ public class UserQuestionController {
         private final RevisionSessionRepository revisionSessionRepository;
         private final UserPatternStatsRepository userPatternStatsRepository;
         private final ReadinessSnapshotRepository readinessSnapshotRepository;
+        private final UserProgressCountersRepository progressCountersRepository;
+        private final QuestionCatalog questionCatalog;
+        private final DayBuckets dayBuckets;
 
         @GetMapping
         public ResponseEntity<List<UserQuestionResponse>> getMyQuestions(
                         @AuthenticationPrincipal User user) {
-                // Use optimized query with JOIN FETCH
-                List<UserQuestion> questions = userQuestionRepository.findByUserIdWithQuestionAndPattern(user.getId());
+                // Question details come from the catalog, so no join is needed
+                List<UserQuestion> questions = userQuestionRepository.findByUserId(user.getId());
                 List<UserQuestionResponse> response = questions.stream()
                                 .map(this::toResponse)
                                 .collect(Collectors.toList());
@@ -66,30 +73,54 @@ public class UserQuestionController {
 
         /**
          * Daily activity counts for GitHub-style contribution heatmap.
-         * Returns a map of date -> count for the last 365 days.
+         * Returns a map of date -> count for the last 365 days, with days in the
+         * user's time zone.
          */
         @GetMapping("/activity")
         public ResponseEntity<Map<String, Integer>> getDailyActivity(
                         @AuthenticationPrincipal User user) {
-                java.time.Instant since = java.time.Instant.now().minus(365, java.time.temporal.ChronoUnit.DAYS);
-                List<Object[]> results = userQuestionRepository.findDailyActivityCounts(user.getId(), since);
-
                 Map<String, Integer> activityMap = new java.util.LinkedHashMap<>();
-                for (Object[] row : results) {
-                        // Handle both java.sql.Date and LocalDate
-                        String dateStr;
-                        if (row[0] instanceof java.sql.Date) {
-                                dateStr = ((java.sql.Date) row[0]).toLocalDate().toString();
-                        } else if (row[0] instanceof java.time.LocalDate) {
-                                dateStr = row[0].toString();
+                dayBuckets.completionsByDay(user, dayBuckets.today(user).minusDays(364))
+                                .forEach((day, count) -> activityMap.put(day.toString(), count));
+
+                return ResponseEntity.ok(activityMap);
+        }
+
+        /**
+         * AI feedback across all of the user's questions, newest first,
+         * keyset-paginated.
+         */
+        @GetMapping("/feedback")
+        @Transactional(readOnly = true)
+        public ResponseEntity<?> getFeedbackHistory(
+                        @AuthenticationPrincipal User user,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(required = false) Integer limit) {
+                int pageLimit = CursorPage.clampLimit(limit);
+                List<AIFeedback> rows;
+                try {
+                        if (cursor == null) {
+                                rows = aiFeedbackRepository.findFirstPageByUserId(user.getId(), pageLimit + 1);
                         } else {
-                                dateStr = row[0].toString();
+                                CursorPage.TimeCursor after = CursorPage.decodeTime(cursor);
+                                rows = aiFeedbackRepository.findPageAfterByUserId(user.getId(), after.createdAt(),
+                                                after.id(), pageLimit + 1);
                         }
-                        int count = ((Number) row[1]).intValue();
-                        activityMap.put(dateStr, count);
+                } catch (IllegalArgumentException e) {
+                        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
                 }
 
-                return ResponseEntity.ok(activityMap);
+                // Only the associations' ids are read, so the lazy proxies stay uninitialized
+                return ResponseEntity.ok(CursorPage.of(rows, pageLimit,
+                                f -> CursorPage.encode(f.getCreatedAt(), f.getId()),
+                                f -> FeedbackInfo.builder()
+                                                .id(f.getId())
+                                                .userQuestionId(f.getUserQuestion().getId())
+                                                .recordingId(f.getRecording() != null ? f.getRecording().getId() : null)
+                                                .type(f.getFeedbackType().name())
+                                                .message(f.getMessage())
+                                                .createdAt(f.getCreatedAt())
+                                                .build()));
         }
 
         @PostMapping("/{questionId}/start")
@@ -189,6 +220,9 @@ public class UserQuestionController {
                 // 9. Delete user pattern stats
                 userPatternStatsRepository.deleteByUserId(userId);
 
+                // 10. Delete progress counters (recreated empty on next use)
+                progressCountersRepository.deleteByUserId(userId);
+
                 // Reset user's readiness days to target
                 user.setCurrentReadinessDays(user.getInterviewTargetDays());
                 userRepository.save(user);
@@ -197,25 +231,27 @@ public class UserQuestionController {
         }
 
         private UserQuestionResponse toResponse(UserQuestion uq) {
-                Question q = uq.getQuestion();
+                // Question metadata from the catalog; only the id is read from the entity
+                CatalogQuestion q = questionCatalog.findQuestion(uq.getQuestion().getId())
+                                .orElseThrow(() -> new IllegalStateException("Question missing from catalog"));
                 return UserQuestionResponse.builder()
                                 .id(uq.getId())
-                                .questionId(q.getId())
+                                .questionId(q.id())
                                 .status(uq.getStatus().name())
                                 .confidenceScore(uq.getConfidenceScore())
                                 .startedAt(uq.getStartedAt())
                                 .solvedDurationSeconds(uq.getSolvedDurationSeconds())
                                 .doneAt(uq.getDoneAt())
                                 .question(QuestionResponse.builder()
-                                                .id(q.getId())
-                                                .title(q.getTitle())
-                                                .difficulty(q.getDifficulty())
-                                                .leetcodeUrl(q.getLeetcodeUrl())
-                                                .timeMinutes(q.getTimeMinutes())
-                                                .orderIndex(q.getOrderIndex())
+                                                .id(q.id())
+                                                .title(q.title())
+                                                .difficulty(q.difficulty())
+                                                .leetcodeUrl(q.leetcodeUrl())
+                                                .timeMinutes(q.timeMinutes())
+                                                .orderIndex(q.orderIndex())
                                                 .pattern(PatternInfo.builder()
-                                                                .id(q.getPattern().getId())
-                                                                .name(q.getPattern().getName())
+                                                                .id(q.pattern().id())
+                                                                .name(q.pattern().name())
                                                                 .build())
                                                 .build())
                                 .build();
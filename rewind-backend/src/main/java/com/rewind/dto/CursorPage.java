@@ -0,0 +1,106 @@
+package com.rewind.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated list. nextCursor is opaque to clients and is
+ * passed back as ?cursor= to get the following page; no total count is
+ * computed.
+ */
+@Data
+@Builder
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+
+    /**
+     * Position in a list ordered by (createdAt DESC, id DESC).
+     */
+    public record TimeCursor(Instant createdAt, UUID id) {
+    }
+
+    /**
+     * Build a page from rows fetched with LIMIT limit + 1; the extra row only
+     * signals that there is a next page.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit, Function<E, String> cursorOf,
+            Function<E, T> mapper) {
+        boolean hasNext = rows.size() > limit;
+        List<E> page = hasNext ? rows.subList(0, limit) : rows;
+        return CursorPage.<T>builder()
+                .items(page.stream().map(mapper).collect(Collectors.toList()))
+                .nextCursor(hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(MAX_LIMIT, limit));
+    }
+
+    public static String encode(Instant createdAt, UUID id) {
+        return encode("t:" + createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id);
+    }
+
+    public static String encode(int orderIndex) {
+        return encode("o:" + orderIndex);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static TimeCursor decodeTime(String cursor) {
+        String[] parts = decode(cursor, "t:").split(":");
+        try {
+            return new TimeCursor(Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+                    UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static int decodeOrderIndex(String cursor) {
+        try {
+            return Integer.parseInt(decode(cursor, "o:"));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor, String prefix) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!raw.startsWith(prefix)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return raw.substring(prefix.length());
+    }
+}
@@ -99,4 +99,15 @@ public class QuestionDTO {
         private String audioPath;
         private Instant expiresAt;
     }
+
+    @Data
+    @Builder
+    public static class FeedbackInfo {
+        private UUID id;
+        private UUID userQuestionId;
+        private UUID recordingId;
+        private String type;
+        private String message;
+        private Instant createdAt;
+    }
 }
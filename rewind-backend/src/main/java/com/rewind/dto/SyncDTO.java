@@ -0,0 +1,85 @@
+package com.rewind.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class SyncDTO {
+
+    @Data
+    public static class SyncRequest {
+        private List<SyncOperation> operations;
+    }
+
+    /**
+     * One queued client mutation. Only the fields of its type are used.
+     */
+    @Data
+    public static class SyncOperation {
+        private String idempotencyKey;
+        // START_QUESTION, SUBMIT_SOLUTION, SAVE_RECORDING, COMPLETE_REVISION
+        private String type;
+        // When the user did it on the device
+        private Instant clientTimestamp;
+
+        // START_QUESTION
+        private UUID questionId;
+
+        // SUBMIT_SOLUTION, SAVE_RECORDING
+        private UUID userQuestionId;
+        private String code;
+        private String language;
+        private String leetcodeSubmissionLink;
+        private String audioUrl;
+        private Integer durationSeconds;
+        private Integer confidenceScore;
+
+        // COMPLETE_REVISION
+        private UUID scheduleId;
+        private Integer listenedVersion;
+        private Boolean rerecorded;
+        private Integer newConfidenceScore;
+    }
+
+    @Data
+    @Builder
+    public static class SyncResponse {
+        private List<OperationResult> results;
+        private int applied;
+        private int replayed;
+        private int failed;
+        private int skipped;
+    }
+
+    @Data
+    @Builder
+    public static class OperationResult {
+        private String idempotencyKey;
+        private String type;
+        // APPLIED, REPLAYED, FAILED, SKIPPED
+        private String status;
+        private int httpStatus;
+        private Object result;
+        private String error;
+
+        public static OperationResult of(SyncOperation op, String status, int httpStatus, Object result,
+                String error) {
+            return OperationResult.builder()
+                    .idempotencyKey(op.getIdempotencyKey())
+                    .type(op.getType())
+                    .status(status)
+                    .httpStatus(httpStatus)
+                    .result(result)
+                    .error(error)
+                    .build();
+        }
+
+        public static OperationResult applied(SyncOperation op, Map<String, Object> result) {
+            return of(op, "APPLIED", 200, result, null);
+        }
+    }
+}
@@ -25,6 +25,10 @@ public class AIFeedback {
     @JoinColumn(name = "user_question_id", nullable = false)
     private UserQuestion userQuestion;
 
+    // Copied from the user question on insert so the per-user history is one index scan
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "recording_id")
     private ExplanationRecording recording;
@@ -39,4 +43,11 @@ public class AIFeedback {
     @Column(name = "created_at")
     @Builder.Default
     private Instant createdAt = Instant.now();
+
+    @PrePersist
+    void copyUserId() {
+        if (userId == null && userQuestion != null) {
+            userId = userQuestion.getUser().getId();
+        }
+    }
 }
@@ -0,0 +1,55 @@
+package com.rewind.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Entity
+@Table(name = "ai_usage_daily", uniqueConstraints = @UniqueConstraint(columnNames = { "user_id", "usage_date",
+        "feature" }))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AiUsageDaily {
+
+    public enum Feature {
+        HINT, REFLECTION_QUESTION, COMMUNICATION_TIP, COMBINED_FEEDBACK, TRANSCRIPTION
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "usage_date", nullable = false)
+    private LocalDate usageDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private Feature feature;
+
+    @Column(nullable = false)
+    private Integer calls;
+
+    @Column(nullable = false)
+    private Integer errors;
+
+    @Column(name = "prompt_tokens", nullable = false)
+    private Long promptTokens;
+
+    @Column(name = "output_tokens", nullable = false)
+    private Long outputTokens;
+
+    @Column(name = "cached_tokens", nullable = false)
+    private Long cachedTokens;
+
+    @Column(name = "total_latency_ms", nullable = false)
+    private Long totalLatencyMs;
+
+    @Column(name = "estimated_cost_usd", nullable = false)
+    private Double estimatedCostUsd;
+}
@@ -43,6 +43,46 @@ public class ExplanationRecording {
     @Builder.Default
     private AnalysisStatus analysisStatus = AnalysisStatus.PENDING;
 
+    @Column(name = "analysis_attempts", nullable = false)
+    @Builder.Default
+    private Integer analysisAttempts = 0;
+
+    // Set when analysis was re-queued because Gemini was unavailable
+    @Column(name = "analysis_retry_at")
+    private Instant analysisRetryAt;
+
+    // When the current analysis job was requested or re-dispatched
+    @Column(name = "analysis_requested_at")
+    private Instant analysisRequestedAt;
+
+    // Transcript metrics computed locally by TranscriptAnalyzer
+    @Column(name = "word_count")
+    private Integer wordCount;
+
+    @Column(name = "words_per_minute")
+    private Double wordsPerMinute;
+
+    // Filler words per 100 words
+    @Column(name = "filler_density")
+    private Double fillerDensity;
+
+    @Column(name = "avg_sentence_words")
+    private Double avgSentenceWords;
+
+    @Column(name = "max_sentence_words")
+    private Integer maxSentenceWords;
+
+    @Column(name = "complexity_terms")
+    private Integer complexityTerms;
+
+    @Column(name = "structure_markers")
+    private Integer structureMarkers;
+
+    // Always ask Gemini for communication feedback, even when the metrics are clear
+    @Column(name = "deep_feedback", nullable = false)
+    @Builder.Default
+    private Boolean deepFeedback = false;
+
     public enum AnalysisStatus {
         PENDING,
         PROCESSING,
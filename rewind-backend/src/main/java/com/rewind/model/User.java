@@ -2,7 +2,9 @@ package com.rewind.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import java.time.DateTimeException;
 import java.time.Instant;
+import java.time.ZoneId;
 import java.util.UUID;
 
 @Entity
@@ -30,6 +32,11 @@ public class User {
     @Builder.Default
     private Double currentReadinessDays = 90.0;
 
+    // IANA zone id, used for daily bucketing
+    @Column(name = "time_zone", nullable = false, length = 64)
+    @Builder.Default
+    private String timeZone = "UTC";
+
     @Column(name = "created_at")
     @Builder.Default
     private Instant createdAt = Instant.now();
@@ -38,6 +45,26 @@ public class User {
     @Builder.Default
     private Instant updatedAt = Instant.now();
 
+    /**
+     * The user's zone for day boundaries; UTC if unset or not a valid zone id.
+     */
+    public ZoneId zoneId() {
+        return zoneOf(timeZone);
+    }
+
+    // Stored values are checked against the IANA ids when written, so parsing is enough here
+    public static ZoneId zoneOf(String timeZone) {
+        if (timeZone != null) {
+            try {
+                return ZoneId.of(timeZone);
+            } catch (DateTimeException e) {
+                // fall through to UTC
+            }
+        }
+        // Region id "UTC" rather than ZoneOffset.UTC ("Z"), which Postgres does not know
+        return ZoneId.of("UTC");
+    }
+
     @PreUpdate
     protected void onUpdate() {
         updatedAt = Instant.now();
@@ -0,0 +1,173 @@
+package com.rewind.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Running per-user progress totals, maintained on write. Recent completions
+ * are kept as a ring of daily buckets ending at bucketDay.
+ */
+@Entity
+@Table(name = "user_progress_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserProgressCounters {
+
+    public static final int BUCKET_DAYS = 7;
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "completed_total", nullable = false)
+    @Builder.Default
+    private Integer completedTotal = 0;
+
+    @Column(name = "completed_easy", nullable = false)
+    @Builder.Default
+    private Integer completedEasy = 0;
+
+    @Column(name = "completed_medium", nullable = false)
+    @Builder.Default
+    private Integer completedMedium = 0;
+
+    @Column(name = "completed_hard", nullable = false)
+    @Builder.Default
+    private Integer completedHard = 0;
+
+    @Column(name = "revisions_completed", nullable = false)
+    @Builder.Default
+    private Integer revisionsCompleted = 0;
+
+    @Column(name = "bucket_day")
+    private LocalDate bucketDay;
+
+    // [0] = completions on bucketDay, [1] = the day before, ...
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "daily_completions", nullable = false, columnDefinition = "int[]")
+    @Builder.Default
+    private int[] dailyCompletions = new int[BUCKET_DAYS];
+
+    @Column(name = "current_streak", nullable = false)
+    @Builder.Default
+    private Integer currentStreak = 0;
+
+    @Column(name = "longest_streak", nullable = false)
+    @Builder.Default
+    private Integer longestStreak = 0;
+
+    @Column(name = "last_active_date")
+    private LocalDate lastActiveDate;
+
+    // Zone the day buckets and streaks are computed in
+    @Column(name = "time_zone", nullable = false, length = 64)
+    @Builder.Default
+    private String timeZone = "UTC";
+
+    @Column(name = "rebuild_required", nullable = false)
+    @Builder.Default
+    private Boolean rebuildRequired = false;
+
+    @Column(name = "updated_at", nullable = false)
+    @Builder.Default
+    private Instant updatedAt = Instant.now();
+
+    // Helper methods
+    public void recordCompletion(String difficulty, LocalDate day) {
+        completedTotal++;
+        switch (difficulty != null ? difficulty : "") {
+            case "Easy" -> completedEasy++;
+            case "Medium" -> completedMedium++;
+            case "Hard" -> completedHard++;
+            default -> {
+            }
+        }
+        addToBucket(day, 1);
+        recordActiveDay(day);
+        updatedAt = Instant.now();
+    }
+
+    public void recordRevision() {
+        revisionsCompleted++;
+        updatedAt = Instant.now();
+    }
+
+    /**
+     * Extend the streak state with a day that had a completion. Days must be
+     * recorded in order; older days are ignored here and picked up by a rebuild.
+     */
+    public void recordActiveDay(LocalDate day) {
+        if (lastActiveDate != null && !day.isAfter(lastActiveDate)) {
+            return;
+        }
+        currentStreak = lastActiveDate != null && lastActiveDate.plusDays(1).equals(day) ? currentStreak + 1 : 1;
+        longestStreak = Math.max(longestStreak, currentStreak);
+        lastActiveDate = day;
+    }
+
+    public void addToBucket(LocalDate day, int count) {
+        if (bucketDay == null || day.isAfter(bucketDay)) {
+            dailyCompletions = shifted(day);
+            bucketDay = day;
+        }
+        long offset = ChronoUnit.DAYS.between(day, bucketDay);
+        if (offset < BUCKET_DAYS) {
+            // New array so the change is detected on flush
+            int[] updated = dailyCompletions.clone();
+            updated[(int) offset] += count;
+            dailyCompletions = updated;
+        }
+    }
+
+    /**
+     * Completions per day for the last BUCKET_DAYS days ending today, oldest first.
+     */
+    public int[] completionsByDay(LocalDate today) {
+        int[] recent = shifted(today);
+        int[] oldestFirst = new int[BUCKET_DAYS];
+        for (int i = 0; i < BUCKET_DAYS; i++) {
+            oldestFirst[i] = recent[BUCKET_DAYS - 1 - i];
+        }
+        return oldestFirst;
+    }
+
+    public int completionsInLastWeek(LocalDate today) {
+        int total = 0;
+        for (int count : shifted(today)) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Streak that is still running today (0 when there was no completion today).
+     */
+    public int currentStreak(LocalDate today) {
+        return today.equals(lastActiveDate) ? currentStreak : 0;
+    }
+
+    // Buckets re-anchored at the given day (days past the window drop out)
+    private int[] shifted(LocalDate day) {
+        int[] result = new int[BUCKET_DAYS];
+        if (bucketDay == null || dailyCompletions == null) {
+            return result;
+        }
+        long shift = ChronoUnit.DAYS.between(bucketDay, day);
+        for (int i = 0; i < BUCKET_DAYS && i < dailyCompletions.length; i++) {
+            long target = i + shift;
+            if (target >= 0 && target < BUCKET_DAYS) {
+                result[(int) target] = dailyCompletions[i];
+            }
+        }
+        return result;
+    }
+}
@@ -50,6 +50,27 @@ public class UserQuestion {
     @Builder.Default
     private Instant createdAt = Instant.now();
 
+    // Spaced-repetition memory state (FSRS), maintained by SpacedRepetitionEngine
+    @Column(name = "srs_stability")
+    private Double srsStability;
+
+    @Column(name = "srs_difficulty")
+    private Double srsDifficulty;
+
+    @Column(name = "srs_due_at")
+    private Instant srsDueAt;
+
+    @Column(name = "srs_last_review_at")
+    private Instant srsLastReviewAt;
+
+    @Column(name = "srs_reps", nullable = false)
+    @Builder.Default
+    private Integer srsReps = 0;
+
+    @Column(name = "srs_lapses", nullable = false)
+    @Builder.Default
+    private Integer srsLapses = 0;
+
     // Lifecycle methods
     public void start() {
         this.status = Status.STARTED;
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,6 +16,18 @@ public interface AIFeedbackRepository extends JpaRepository<AIFeedback, UUID> {
 
     List<AIFeedback> findByRecordingIdOrderByCreatedAtDesc(UUID recordingId);
 
+    // Feedback across all of the user's questions, newest first, keyset-paginated
+    // on idx_ai_feedback_user_keyset
+    @Query(value = "SELECT af.* FROM ai_feedback af " +
+            "WHERE af.user_id = :userId " +
+            "ORDER BY af.created_at DESC, af.id DESC LIMIT :limit", nativeQuery = true)
+    List<AIFeedback> findFirstPageByUserId(UUID userId, int limit);
+
+    @Query(value = "SELECT af.* FROM ai_feedback af " +
+            "WHERE af.user_id = :userId AND (af.created_at, af.id) < (:createdAt, :id) " +
+            "ORDER BY af.created_at DESC, af.id DESC LIMIT :limit", nativeQuery = true)
+    List<AIFeedback> findPageAfterByUserId(UUID userId, Instant createdAt, UUID id, int limit);
+
     @Modifying
     @Query("DELETE FROM AIFeedback af WHERE af.userQuestion.id IN :userQuestionIds")
     void deleteByUserQuestionIdIn(List<UUID> userQuestionIds);
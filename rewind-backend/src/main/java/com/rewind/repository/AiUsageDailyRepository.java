@@ -0,0 +1,40 @@
+package com.rewind.repository;
+
+import com.rewind.model.AiUsageDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AiUsageDailyRepository extends JpaRepository<AiUsageDaily, UUID> {
+
+    List<AiUsageDaily> findByUserIdAndUsageDateGreaterThanEqualOrderByUsageDateDesc(UUID userId, LocalDate since);
+
+    /**
+     * Add one call to the user's aggregate for the day, creating the row if needed.
+     * Called from {@link com.rewind.service.AiCallMetrics}' writer thread, never
+     * from inside another transaction.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO ai_usage_daily (user_id, usage_date, feature, calls, errors, prompt_tokens, " +
+            "output_tokens, cached_tokens, total_latency_ms, estimated_cost_usd) " +
+            "VALUES (:userId, :usageDate, :feature, 1, :errors, :promptTokens, :outputTokens, :cachedTokens, " +
+            ":latencyMs, :costUsd) " +
+            "ON CONFLICT (user_id, usage_date, feature) DO UPDATE SET " +
+            "calls = ai_usage_daily.calls + 1, " +
+            "errors = ai_usage_daily.errors + EXCLUDED.errors, " +
+            "prompt_tokens = ai_usage_daily.prompt_tokens + EXCLUDED.prompt_tokens, " +
+            "output_tokens = ai_usage_daily.output_tokens + EXCLUDED.output_tokens, " +
+            "cached_tokens = ai_usage_daily.cached_tokens + EXCLUDED.cached_tokens, " +
+            "total_latency_ms = ai_usage_daily.total_latency_ms + EXCLUDED.total_latency_ms, " +
+            "estimated_cost_usd = ai_usage_daily.estimated_cost_usd + EXCLUDED.estimated_cost_usd", nativeQuery = true)
+    void recordCall(UUID userId, LocalDate usageDate, String feature, int errors, long promptTokens,
+            long outputTokens, long cachedTokens, long latencyMs, double costUsd);
+}
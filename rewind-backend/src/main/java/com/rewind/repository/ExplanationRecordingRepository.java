@@ -1,11 +1,14 @@
 package com.rewind.repository;
 
 import com.rewind.model.ExplanationRecording;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,6 +24,38 @@ public interface ExplanationRecordingRepository extends JpaRepository<Explanatio
     @Query("SELECT COALESCE(MAX(er.version), 0) FROM ExplanationRecording er WHERE er.userQuestion.id = :userQuestionId")
     int findMaxVersionByUserQuestionId(UUID userQuestionId);
 
+    // Re-queued analyses whose retry time has come
+    @Query("SELECT er.id FROM ExplanationRecording er WHERE er.analysisStatus = 'PENDING' AND er.analysisRetryAt <= :now ORDER BY er.analysisRetryAt")
+    List<UUID> findIdsDueForRetry(Instant now, Pageable pageable);
+
+    // Claim a re-queued analysis so it is dispatched exactly once
+    @Transactional
+    @Modifying
+    @Query("UPDATE ExplanationRecording er SET er.analysisRetryAt = NULL, er.analysisRequestedAt = :now WHERE er.id = :id AND er.analysisStatus = 'PENDING' AND er.analysisRetryAt <= :now")
+    int claimForRetry(UUID id, Instant now);
+
+    /**
+     * Start a new analysis of an owned recording unless one is already in flight
+     * (PENDING/PROCESSING requested after staleBefore, or waiting for a retry).
+     * Returns 0 when the recording is in flight, missing, or not owned by the user.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ExplanationRecording er SET er.analysisStatus = :pending, er.analysisRequestedAt = :now, " +
+            "er.analysisRetryAt = NULL, er.analysisAttempts = 0 " +
+            "WHERE er.id = :id " +
+            "AND er.userQuestion.id IN (SELECT uq.id FROM UserQuestion uq WHERE uq.user.id = :userId) " +
+            "AND (er.analysisStatus IS NULL OR er.analysisStatus IN ('COMPLETED', 'FAILED') " +
+            "OR (er.analysisRetryAt IS NULL AND (er.analysisRequestedAt IS NULL OR er.analysisRequestedAt < :staleBefore)))")
+    int claimAnalysis(UUID id, UUID userId, Instant now, Instant staleBefore,
+            ExplanationRecording.AnalysisStatus pending);
+
+    @Query("SELECT er FROM ExplanationRecording er WHERE er.id = :id AND er.userQuestion.user.id = :userId")
+    Optional<ExplanationRecording> findByIdAndUserId(UUID id, UUID userId);
+
+    @Query("SELECT er.analysisStatus FROM ExplanationRecording er WHERE er.id = :id AND er.userQuestion.user.id = :userId")
+    Optional<ExplanationRecording.AnalysisStatus> findAnalysisStatusByIdAndUserId(UUID id, UUID userId);
+
     @Modifying
     @Query("DELETE FROM ExplanationRecording er WHERE er.userQuestion.id IN :userQuestionIds")
     void deleteByUserQuestionIdIn(List<UUID> userQuestionIds);
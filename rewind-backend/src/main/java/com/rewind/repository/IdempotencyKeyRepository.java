@@ -0,0 +1,55 @@
+package com.rewind.repository;
+
+import com.rewind.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, UUID> {
+
+    Optional<IdempotencyKey> findByUserIdAndIdempotencyKey(UUID userId, String idempotencyKey);
+
+    List<IdempotencyKey> findByUserIdAndIdempotencyKeyIn(UUID userId, Collection<String> idempotencyKeys);
+
+    /**
+     * Reserve a key for a new request. Returns 0 if the key is already taken.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (user_id, idempotency_key, request_path, created_at) " +
+            "VALUES (:userId, :idempotencyKey, :requestPath, :now) " +
+            "ON CONFLICT (user_id, idempotency_key) DO NOTHING", nativeQuery = true)
+    int reserve(UUID userId, String idempotencyKey, String requestPath, Instant now);
+
+    /**
+     * Take over a reservation whose request never completed (e.g. the instance died).
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.createdAt = :now WHERE k.userId = :userId AND k.idempotencyKey = :idempotencyKey AND k.responseStatus IS NULL AND k.createdAt < :abandonedBefore")
+    int takeOverAbandoned(UUID userId, String idempotencyKey, Instant now, Instant abandonedBefore);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.responseStatus = :status, k.responseBody = :body WHERE k.userId = :userId AND k.idempotencyKey = :idempotencyKey")
+    int complete(UUID userId, String idempotencyKey, int status, String body);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.userId = :userId AND k.idempotencyKey = :idempotencyKey AND k.responseStatus IS NULL")
+    int release(UUID userId, String idempotencyKey);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :before")
+    int deleteCreatedBefore(Instant before);
+}
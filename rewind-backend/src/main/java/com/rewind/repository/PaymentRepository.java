@@ -2,8 +2,10 @@ package com.rewind.repository;
 
 import com.rewind.model.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,4 +37,16 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
      * Check if user has ever made a successful payment (for trial eligibility).
      */
     boolean existsByUserIdAndStatus(UUID userId, Payment.Status status);
+
+    /**
+     * Payment history, newest first, keyset-paginated on (created_at, id).
+     */
+    @Query(value = "SELECT * FROM payments WHERE user_id = :userId " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Payment> findFirstPage(UUID userId, int limit);
+
+    @Query(value = "SELECT * FROM payments WHERE user_id = :userId " +
+            "AND (created_at, id) < (:createdAt, :id) " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Payment> findPageAfter(UUID userId, Instant createdAt, UUID id, int limit);
 }
@@ -2,8 +2,10 @@ package com.rewind.repository;
 
 import com.rewind.model.ReadinessEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,4 +16,14 @@ public interface ReadinessEventRepository extends JpaRepository<ReadinessEvent,
     List<ReadinessEvent> findTop10ByUserIdOrderByCreatedAtDesc(UUID userId);
 
     void deleteByUserId(UUID userId);
+
+    // Keyset pagination, newest first (index on user_id, created_at DESC, id DESC)
+    @Query(value = "SELECT * FROM readiness_events WHERE user_id = :userId " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<ReadinessEvent> findFirstPage(UUID userId, int limit);
+
+    @Query(value = "SELECT * FROM readiness_events WHERE user_id = :userId " +
+            "AND (created_at, id) < (:createdAt, :id) " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<ReadinessEvent> findPageAfter(UUID userId, Instant createdAt, UUID id, int limit);
 }
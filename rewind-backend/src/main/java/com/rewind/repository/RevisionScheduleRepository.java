@@ -22,6 +22,48 @@ public interface RevisionScheduleRepository extends JpaRepository<RevisionSchedu
 
     boolean existsByUserQuestionIdAndCompletedAtIsNull(UUID userQuestionId);
 
+    /**
+     * A pending revision owned by the user, with the question (difficulty,
+     * title) fetched for completion and readiness in the same round trip.
+     */
+    @Query("SELECT rs FROM RevisionSchedule rs JOIN FETCH rs.userQuestion uq JOIN FETCH uq.question " +
+            "WHERE rs.id = :id AND rs.user.id = :userId AND rs.completedAt IS NULL")
+    Optional<RevisionSchedule> findPendingByIdAndUserId(UUID id, UUID userId);
+
+    boolean existsByIdAndUserId(UUID id, UUID userId);
+
+    /**
+     * Atomic completion: only the first of concurrent submissions updates the row.
+     */
+    @Modifying
+    @Query("UPDATE RevisionSchedule rs SET rs.completedAt = :completedAt WHERE rs.id = :id AND rs.completedAt IS NULL")
+    int markCompletedIfPending(UUID id, Instant completedAt);
+
+    /**
+     * Questions whose spaced-repetition due date has passed and that have no
+     * pending revision, most likely forgotten first. Range scan on
+     * (user_id, srs_due_at); forgetting risk is 1 - FSRS retrievability now.
+     */
+    @Query(value = "SELECT uq.id AS \"userQuestionId\", " +
+            "  CAST(1 - POWER(1 + (19.0 / 81.0) * GREATEST(EXTRACT(EPOCH FROM (CAST(:now AS timestamptz) - uq.srs_last_review_at)) / 86400, 0) " +
+            "    / uq.srs_stability, -0.5) AS double precision) AS \"forgettingRisk\", " +
+            "  CASE WHEN uq.confidence_score <= 2 THEN 'LOW_CONFIDENCE' ELSE 'TIME_DECAY' END AS \"reason\" " +
+            "FROM user_questions uq " +
+            "WHERE uq.user_id = :userId AND uq.srs_due_at <= :now " +
+            "  AND NOT EXISTS (SELECT 1 FROM revision_schedules rs " +
+            "                  WHERE rs.user_question_id = uq.id AND rs.completed_at IS NULL) " +
+            "ORDER BY \"forgettingRisk\" DESC " +
+            "LIMIT :limit", nativeQuery = true)
+    List<DueReview> findDueForReview(UUID userId, Instant now, int limit);
+
+    interface DueReview {
+        UUID getUserQuestionId();
+
+        double getForgettingRisk();
+
+        String getReason();
+    }
+
     Optional<RevisionSchedule> findFirstByUserQuestionIdAndCompletedAtIsNull(UUID userQuestionId);
 
     @Query("SELECT COUNT(rs) FROM RevisionSchedule rs WHERE rs.user.id = :userId AND rs.completedAt IS NOT NULL")
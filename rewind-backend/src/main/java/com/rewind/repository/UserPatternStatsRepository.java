@@ -17,6 +17,33 @@ public interface UserPatternStatsRepository extends JpaRepository<UserPatternSta
 
     Optional<UserPatternStats> findByUserIdAndPatternId(UUID userId, UUID patternId);
 
+    /**
+     * Completion per pattern for one user: patterns with questions, their
+     * question totals and the user's completed count, weakest first.
+     */
+    @Query(value = "SELECT p.name AS \"name\", p.category AS \"category\", " +
+            "  CAST(COALESCE(ups.questions_completed, 0) AS int) AS \"completed\", " +
+            "  CAST(t.total AS int) AS \"total\", " +
+            "  CAST(COALESCE(ups.questions_completed, 0) * 100 / t.total AS int) AS \"percentComplete\" " +
+            "FROM patterns p " +
+            "JOIN (SELECT pattern_id, COUNT(*) AS total FROM questions GROUP BY pattern_id) t " +
+            "  ON t.pattern_id = p.id " +
+            "LEFT JOIN user_pattern_stats ups ON ups.pattern_id = p.id AND ups.user_id = :userId " +
+            "ORDER BY 5, p.name", nativeQuery = true)
+    List<PatternProgressRow> findPatternProgress(UUID userId);
+
+    interface PatternProgressRow {
+        String getName();
+
+        String getCategory();
+
+        Integer getCompleted();
+
+        Integer getTotal();
+
+        Integer getPercentComplete();
+    }
+
     @Modifying
     @Query("DELETE FROM UserPatternStats ups WHERE ups.user.id = :userId")
     void deleteByUserId(UUID userId);
@@ -0,0 +1,53 @@
+package com.rewind.repository;
+
+import com.rewind.model.UserProgressCounters;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UserProgressCountersRepository extends JpaRepository<UserProgressCounters, UUID> {
+
+    /**
+     * Row lock held until the end of the surrounding write transaction, so
+     * concurrent completions of the same user apply one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM UserProgressCounters c WHERE c.userId = :userId")
+    Optional<UserProgressCounters> findForUpdate(UUID userId);
+
+    /**
+     * Create the row for a user who has none yet. It starts out flagged, so the
+     * first use computes it from the user's history.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_progress_counters (user_id, rebuild_required) VALUES (:userId, TRUE) " +
+            "ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(UUID userId);
+
+    @Query(value = "SELECT user_id FROM user_progress_counters WHERE rebuild_required " +
+            "ORDER BY user_id LIMIT :limit", nativeQuery = true)
+    List<UUID> findUserIdsRequiringRebuild(int limit);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserProgressCounters c SET c.rebuildRequired = true WHERE c.userId = :userId")
+    int markForRebuild(UUID userId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserProgressCounters c SET c.rebuildRequired = true")
+    int markAllForRebuild();
+
+    @Modifying
+    @Query("DELETE FROM UserProgressCounters c WHERE c.userId = :userId")
+    void deleteByUserId(UUID userId);
+}
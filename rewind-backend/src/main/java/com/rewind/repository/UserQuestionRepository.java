@@ -7,6 +7,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -44,6 +46,40 @@ public interface UserQuestionRepository extends JpaRepository<UserQuestion, UUID
         @Query("SELECT COUNT(uq) FROM UserQuestion uq WHERE uq.user.id = :userId AND uq.question.difficulty = :difficulty AND uq.status = 'DONE'")
         long countCompletedByDifficulty(UUID userId, String difficulty);
 
+        /**
+         * All readiness breakdown counters in one round trip: a single pass over
+         * the user's rows with FILTER clauses, plus the catalog size and completed
+         * revisions as scalar subqueries.
+         */
+        @Query(value = "SELECT (SELECT COUNT(*) FROM questions) AS \"questionsTotal\", " +
+                        "  COUNT(*) FILTER (WHERE uq.status = 'DONE') AS \"completed\", " +
+                        "  COUNT(*) FILTER (WHERE uq.status = 'DONE' AND q.difficulty = 'Easy') AS \"easyComplete\", " +
+                        "  COUNT(*) FILTER (WHERE uq.status = 'DONE' AND q.difficulty = 'Medium') AS \"mediumComplete\", " +
+                        "  COUNT(*) FILTER (WHERE uq.status = 'DONE' AND q.difficulty = 'Hard') AS \"hardComplete\", " +
+                        "  COUNT(*) FILTER (WHERE uq.status = 'DONE' AND uq.done_at >= :since) AS \"completedSince\", " +
+                        "  (SELECT COUNT(*) FROM revision_schedules rs " +
+                        "   WHERE rs.user_id = :userId AND rs.completed_at IS NOT NULL) AS \"revisionsComplete\" " +
+                        "FROM user_questions uq " +
+                        "JOIN questions q ON q.id = uq.question_id " +
+                        "WHERE uq.user_id = :userId", nativeQuery = true)
+        BreakdownCounts getBreakdownCounts(UUID userId, Instant since);
+
+        interface BreakdownCounts {
+                long getQuestionsTotal();
+
+                long getCompleted();
+
+                long getEasyComplete();
+
+                long getMediumComplete();
+
+                long getHardComplete();
+
+                long getCompletedSince();
+
+                long getRevisionsComplete();
+        }
+
         @Query("SELECT uq FROM UserQuestion uq WHERE uq.user.id = :userId AND uq.status = 'DONE' AND uq.doneAt >= :since ORDER BY uq.doneAt DESC")
         List<UserQuestion> findCompletedByUserIdSince(UUID userId, Instant since);
 
@@ -54,16 +90,77 @@ public interface UserQuestionRepository extends JpaRepository<UserQuestion, UUID
                         "WHERE uq.id = :id")
         Optional<UserQuestion> findByIdWithQuestionAndPattern(UUID id);
 
-        // Daily activity count for heatmap (last 365 days)
-        @Query(value = "SELECT DATE(done_at) as date, COUNT(*) as count " +
+        @Query("SELECT uq FROM UserQuestion uq " +
+                        "JOIN FETCH uq.question q " +
+                        "JOIN FETCH q.pattern " +
+                        "WHERE uq.id IN :ids")
+        List<UserQuestion> findAllByIdWithQuestionAndPattern(Collection<UUID> ids);
+
+        // Completions per calendar day in the given IANA zone, oldest first
+        @Query(value = "SELECT CAST(done_at AT TIME ZONE :timeZone AS date) AS date, COUNT(*) AS count " +
                         "FROM user_questions " +
                         "WHERE user_id = :userId AND status = 'DONE' AND done_at >= :since " +
-                        "GROUP BY DATE(done_at) " +
-                        "ORDER BY date", nativeQuery = true)
-        List<Object[]> findDailyActivityCounts(UUID userId, Instant since);
+                        "GROUP BY 1 " +
+                        "ORDER BY 1", nativeQuery = true)
+        List<Object[]> findDailyActivityCounts(UUID userId, Instant since, String timeZone);
+
+        /**
+         * Streaks over distinct completion days in the given zone (gaps and islands): days minus
+         * their row number are constant within a run of consecutive days. The
+         * current streak is the run ending on the last active day.
+         */
+        @Query(value = "WITH days AS (" +
+                        "  SELECT DISTINCT CAST(done_at AT TIME ZONE :timeZone AS date) AS day FROM user_questions " +
+                        "  WHERE user_id = :userId AND status = 'DONE' AND done_at IS NOT NULL" +
+                        "), runs AS (" +
+                        "  SELECT MAX(day) AS end_day, COUNT(*) AS length FROM (" +
+                        "    SELECT day, day - CAST(ROW_NUMBER() OVER (ORDER BY day) AS int) AS island FROM days" +
+                        "  ) d GROUP BY island" +
+                        ") " +
+                        "SELECT CAST(COALESCE((SELECT length FROM runs ORDER BY end_day DESC LIMIT 1), 0) AS int) " +
+                        "    AS \"currentStreak\", " +
+                        "  CAST(COALESCE(MAX(length), 0) AS int) AS \"longestStreak\", " +
+                        "  MAX(end_day) AS \"lastActiveDate\" " +
+                        "FROM runs", nativeQuery = true)
+        StreakSummary getStreakSummary(UUID userId, String timeZone);
+
+        interface StreakSummary {
+                Integer getCurrentStreak();
+
+                Integer getLongestStreak();
+
+                LocalDate getLastActiveDate();
+        }
 
         @Query("SELECT uq.id FROM UserQuestion uq WHERE uq.user.id = :userId")
         List<UUID> findIdsByUserId(UUID userId);
 
+        // Ownership-checked lookups: ownership is part of the WHERE clause so a
+        // single round trip both authorizes and loads what the caller needs
+        @Query("SELECT uq.status FROM UserQuestion uq WHERE uq.id = :id AND uq.user.id = :userId")
+        Optional<Status> findStatusByIdAndUserId(UUID id, UUID userId);
+
+        @Query("SELECT uq AS userQuestion, " +
+                        "(SELECT COUNT(s) FROM Solution s WHERE s.userQuestion.id = uq.id) AS solutionCount, " +
+                        "(SELECT COALESCE(MAX(er.version), 0) FROM ExplanationRecording er WHERE er.userQuestion.id = uq.id) AS maxRecordingVersion "
+                        +
+                        "FROM UserQuestion uq " +
+                        "JOIN FETCH uq.question q " +
+                        "JOIN FETCH q.pattern " +
+                        "WHERE uq.id = :id AND uq.user.id = :userId")
+        Optional<RecordingTarget> findRecordingTarget(UUID id, UUID userId);
+
+        /**
+         * A user question about to receive a recording, with its question and
+         * pattern loaded, plus what saveRecording needs to validate and version it.
+         */
+        interface RecordingTarget {
+                UserQuestion getUserQuestion();
+
+                long getSolutionCount();
+
+                int getMaxRecordingVersion();
+        }
+
         void deleteByUserId(UUID userId);
 }
@@ -2,8 +2,12 @@ package com.rewind.repository;
 
 import com.rewind.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,4 +16,32 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.timeZone FROM User u WHERE u.id = :userId")
+    Optional<String> findTimeZoneById(UUID userId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.timeZone = :timeZone, u.updatedAt = :now WHERE u.id = :userId")
+    int updateTimeZone(UUID userId, String timeZone, Instant now);
+
+    /**
+     * Reduce the user's readiness days by the given amount (floored at 0, rounded
+     * to 2 decimals) and record the readiness event, in one statement. Applied to
+     * the current column value, so concurrent completions do not overwrite each
+     * other. Returns the new value, or null if the user does not exist.
+     */
+    @Transactional
+    @Query(value = "WITH updated AS (" +
+            "  UPDATE users SET current_readiness_days = " +
+            "    GREATEST(0, ROUND(CAST(current_readiness_days - :reduction AS numeric), 2)) " +
+            "  WHERE id = :userId " +
+            "  RETURNING id, current_readiness_days" +
+            "), event AS (" +
+            "  INSERT INTO readiness_events (user_id, change_delta_days, reason, related_question_id, created_at) " +
+            "  SELECT id, :eventDelta, :reason, CAST(:questionId AS uuid), NOW() FROM updated" +
+            ") " +
+            "SELECT CAST(current_readiness_days AS double precision) FROM updated", nativeQuery = true)
+    Double applyReadinessReduction(UUID userId, double reduction, double eventDelta, String reason,
+            UUID questionId);
 }
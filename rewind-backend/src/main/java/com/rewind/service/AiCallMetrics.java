@@ -0,0 +1,183 @@
+package com.rewind.service;
+
+import com.rewind.model.AiUsageDaily;
+import com.rewind.repository.AiUsageDailyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every outbound AI call: latency percentiles and status codes per
+ * feature, token usage from Gemini's usageMetadata, cached-content hits and an
+ * estimated cost. Metrics are published through Micrometer and also added to
+ * the per-user daily aggregate in ai_usage_daily.
+ * <p>
+ * The ai_usage_daily upsert runs on a single writer thread in its own short
+ * transaction, so a caller that already holds a pooled connection never waits
+ * for a second one. If the writer falls behind, usage rows are dropped with a
+ * warning rather than blocking the AI call.
+ */
+@Component
+@Slf4j
+public class AiCallMetrics {
+
+    private static final int USAGE_QUEUE_CAPACITY = 1000;
+
+    private final MeterRegistry meterRegistry;
+    private final AiUsageDailyRepository usageRepository;
+    private final ThreadPoolExecutor usageWriter = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(USAGE_QUEUE_CAPACITY), AiCallMetrics::newUsageWriterThread,
+            (task, executor) -> log.warn("AI usage writer queue full, dropping usage row"));
+
+    // USD per million tokens
+    @Value("${gemini.pricing.input-per-million:0.30}")
+    private double inputPricePerMillion;
+
+    @Value("${gemini.pricing.cached-input-per-million:0.075}")
+    private double cachedInputPricePerMillion;
+
+    @Value("${gemini.pricing.output-per-million:2.50}")
+    private double outputPricePerMillion;
+
+    public AiCallMetrics(MeterRegistry meterRegistry, AiUsageDailyRepository usageRepository) {
+        this.meterRegistry = meterRegistry;
+        this.usageRepository = usageRepository;
+    }
+
+    /**
+     * Record one HTTP attempt against the AI upstream.
+     *
+     * @param status   HTTP status code as a string, or a failure kind such as
+     *                 "timeout" / "io_error"
+     * @param response parsed response body, null unless the call succeeded
+     */
+    public void recordCall(AiUsageDaily.Feature feature, UUID userId, Duration latency, String status,
+            Map<String, Object> response) {
+        String featureTag = feature.name();
+
+        Timer.builder("rewind.ai.call.latency")
+                .description("Latency of outbound AI calls")
+                .tag("feature", featureTag)
+                .tag("status", status)
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(latency);
+
+        TokenUsage usage = TokenUsage.from(response);
+        if (usage.promptTokens() > 0) {
+            tokenCounter(featureTag, "prompt").increment(usage.promptTokens());
+        }
+        if (usage.outputTokens() > 0) {
+            tokenCounter(featureTag, "output").increment(usage.outputTokens());
+        }
+        if (usage.cachedTokens() > 0) {
+            tokenCounter(featureTag, "cached").increment(usage.cachedTokens());
+            Counter.builder("rewind.ai.cache.hits")
+                    .description("AI calls served partly from cached content")
+                    .tag("feature", featureTag)
+                    .register(meterRegistry)
+                    .increment();
+        }
+
+        double cost = estimateCost(usage);
+        if (cost > 0) {
+            Counter.builder("rewind.ai.cost")
+                    .description("Estimated AI spend")
+                    .baseUnit("usd")
+                    .tag("feature", featureTag)
+                    .register(meterRegistry)
+                    .increment(cost);
+        }
+
+        if (userId != null) {
+            LocalDate usageDate = LocalDate.now(ZoneOffset.UTC);
+            int errors = "200".equals(status) ? 0 : 1;
+            usageWriter.execute(() -> {
+                try {
+                    usageRepository.recordCall(userId, usageDate, featureTag, errors, usage.promptTokens(),
+                            usage.outputTokens(), usage.cachedTokens(), latency.toMillis(), cost);
+                } catch (Exception e) {
+                    log.warn("Failed to record AI usage for user {}: {}", userId, e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Record a call that was rejected locally (circuit open, deadline exceeded)
+     * without reaching the upstream.
+     */
+    public void recordRejected(AiUsageDaily.Feature feature, String reason) {
+        Counter.builder("rewind.ai.call.rejected")
+                .description("AI calls rejected before reaching the upstream")
+                .tag("feature", feature.name())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        // Flush queued usage rows before the datasource closes
+        usageWriter.shutdown();
+        if (!usageWriter.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("AI usage writer did not finish, {} usage rows dropped", usageWriter.getQueue().size());
+            usageWriter.shutdownNow();
+        }
+    }
+
+    private static Thread newUsageWriterThread(Runnable task) {
+        Thread thread = new Thread(task, "ai-usage-writer");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private Counter tokenCounter(String feature, String type) {
+        return Counter.builder("rewind.ai.tokens")
+                .description("Tokens consumed by AI calls")
+                .tag("feature", feature)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private double estimateCost(TokenUsage usage) {
+        long uncachedPrompt = Math.max(0, usage.promptTokens() - usage.cachedTokens());
+        return (uncachedPrompt * inputPricePerMillion
+                + usage.cachedTokens() * cachedInputPricePerMillion
+                + usage.outputTokens() * outputPricePerMillion) / 1_000_000.0;
+    }
+
+    private record TokenUsage(long promptTokens, long outputTokens, long cachedTokens) {
+
+        @SuppressWarnings("unchecked")
+        static TokenUsage from(Map<String, Object> response) {
+            if (response == null || !(response.get("usageMetadata") instanceof Map)) {
+                return new TokenUsage(0, 0, 0);
+            }
+            Map<String, Object> metadata = (Map<String, Object>) response.get("usageMetadata");
+            // Thinking tokens are billed as output
+            long output = count(metadata, "candidatesTokenCount") + count(metadata, "thoughtsTokenCount");
+            return new TokenUsage(count(metadata, "promptTokenCount"), output,
+                    count(metadata, "cachedContentTokenCount"));
+        }
+
+        private static long count(Map<String, Object> metadata, String key) {
+            Object value = metadata.get(key);
+            return value instanceof Number ? ((Number) value).longValue() : 0;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.rewind.service;
+
+import com.rewind.repository.ExplanationRecordingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Re-dispatches recording analyses that were re-queued because Gemini was
+ * unavailable. Does nothing while the circuit is open, and dispatches a single
+ * analysis while it is half-open, since only one probe call is let through.
+ * Not lazy: with spring.main.lazy-initialization the scheduled method would
+ * otherwise never be registered.
+ */
+@Component
+@Lazy(false)
+@RequiredArgsConstructor
+@Slf4j
+public class AnalysisRetryScheduler {
+
+    private static final int BATCH_SIZE = 20;
+    private static final int PROBE_BATCH_SIZE = 1;
+
+    private final ExplanationRecordingRepository recordingRepository;
+    private final GeminiService geminiService;
+    private final GeminiCircuitBreaker circuitBreaker;
+
+    @Scheduled(fixedDelayString = "${gemini.resilience.requeue-poll-ms:60000}")
+    public void dispatchDueRetries() {
+        if (circuitBreaker.isOpen()) {
+            return;
+        }
+
+        // OPEN with the open duration elapsed becomes HALF_OPEN on the next call
+        int batchSize = circuitBreaker.getState() == GeminiCircuitBreaker.State.CLOSED ? BATCH_SIZE : PROBE_BATCH_SIZE;
+        Instant now = Instant.now();
+        List<UUID> due = recordingRepository.findIdsDueForRetry(now, PageRequest.of(0, batchSize));
+        for (UUID recordingId : due) {
+            if (recordingRepository.claimForRetry(recordingId, now) == 1) {
+                log.info("Re-dispatching queued analysis for recording: {}", recordingId);
+                geminiService.processRecording(recordingId);
+            }
+        }
+    }
+}
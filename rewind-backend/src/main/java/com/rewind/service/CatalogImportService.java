@@ -0,0 +1,397 @@
+package com.rewind.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk import of questions (and new patterns) from a streamed CSV or JSON list.
+ * Rows are read one at a time, validated, and upserted in JDBC batches keyed on
+ * questions.order_index; patterns are upserted by name the first time the
+ * import references them. The whole import is one transaction, and the
+ * in-memory catalog is reloaded once it has committed. Memory use depends on
+ * the batch size and the number of patterns, not on the size of the input.
+ * <p>
+ * Columns / JSON fields (snake_case or camelCase): title, difficulty,
+ * leetcode_url, time_minutes, order_index, pattern, and optionally
+ * pattern_category, pattern_importance, pattern_mental_model.
+ */
+@Service
+@Slf4j
+public class CatalogImportService {
+
+    public enum Format {
+        CSV, JSON
+    }
+
+    // row is the 1-based position in the input, not counting a CSV header
+    public record RowError(long row, String message) {
+    }
+
+    public record ImportReport(
+            boolean dryRun,
+            long rowsRead,
+            long questionsUpserted,
+            int patternsUpserted,
+            long rowsFailed,
+            List<RowError> errors,
+            boolean errorsTruncated,
+            Long catalogVersion) {
+    }
+
+    private record Row(String title, String difficulty, String leetcodeUrl, int timeMinutes,
+            int orderIndex, String pattern, String patternCategory, Integer patternImportance,
+            String patternMentalModel) {
+    }
+
+    private static final String UPSERT_PATTERN_SQL = "INSERT INTO patterns " +
+            "(name, category, importance_weight, short_mental_model) VALUES (?, ?, COALESCE(?, 1), ?) " +
+            "ON CONFLICT (name) DO UPDATE SET " +
+            "category = COALESCE(EXCLUDED.category, patterns.category), " +
+            "importance_weight = COALESCE(?, patterns.importance_weight), " +
+            "short_mental_model = COALESCE(EXCLUDED.short_mental_model, patterns.short_mental_model) " +
+            "RETURNING id";
+
+    private static final String UPSERT_QUESTION_SQL = "INSERT INTO questions " +
+            "(title, difficulty, leetcode_url, time_minutes, order_index, pattern_id) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (order_index) DO UPDATE SET " +
+            "title = EXCLUDED.title, difficulty = EXCLUDED.difficulty, leetcode_url = EXCLUDED.leetcode_url, " +
+            "time_minutes = EXCLUDED.time_minutes, pattern_id = EXCLUDED.pattern_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final QuestionCatalog questionCatalog;
+    private final ObjectMapper objectMapper;
+
+    @Value("${catalog.import.batch-size:500}")
+    private int batchSize;
+
+    // Row errors beyond this are counted but not listed
+    @Value("${catalog.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public CatalogImportService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            QuestionCatalog questionCatalog, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.questionCatalog = questionCatalog;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Import the stream. Invalid rows are skipped and reported; a database
+     * error rolls the whole import back. With dryRun nothing is committed.
+     *
+     * @throws IllegalArgumentException if the input is not a CSV/JSON list
+     */
+    public ImportReport importCatalog(InputStream input, Format format, boolean dryRun) {
+        long startedAt = System.currentTimeMillis();
+        ImportState state = new ImportState();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.query("SELECT id, name FROM patterns",
+                    rs -> {
+                        state.patternIds.put(rs.getString("name"), rs.getObject("id", UUID.class));
+                    });
+
+            Iterator<Map<String, String>> records = format == Format.CSV ? csvRecords(input) : jsonRecords(input);
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            while (records.hasNext()) {
+                Map<String, String> fields = records.next();
+                long number = ++state.rowsRead;
+                Row row;
+                try {
+                    row = toRow(fields);
+                } catch (IllegalArgumentException e) {
+                    state.fail(number, e.getMessage());
+                    continue;
+                }
+
+                batch.add(new Object[] {
+                        row.title(),
+                        row.difficulty(),
+                        row.leetcodeUrl(),
+                        row.timeMinutes(),
+                        row.orderIndex(),
+                        patternId(state, row)
+                });
+                if (batch.size() >= batchSize) {
+                    flush(state, batch);
+                }
+            }
+            flush(state, batch);
+
+            if (dryRun) {
+                status.setRollbackOnly();
+            }
+        });
+
+        // Swap the in-memory catalog only after the import is visible
+        Long catalogVersion = dryRun ? null : questionCatalog.reload().version();
+        log.info("Catalog import{}: {} rows, {} questions, {} patterns, {} failed in {}ms", dryRun ? " (dry run)" : "",
+                state.rowsRead, state.questionsUpserted, state.upsertedPatterns.size(), state.rowsFailed,
+                System.currentTimeMillis() - startedAt);
+        return new ImportReport(dryRun, state.rowsRead, state.questionsUpserted, state.upsertedPatterns.size(),
+                state.rowsFailed, state.errors, state.rowsFailed > state.errors.size(), catalogVersion);
+    }
+
+    private final class ImportState {
+        final Map<String, UUID> patternIds = new HashMap<>();
+        final Set<String> upsertedPatterns = new HashSet<>();
+        final List<RowError> errors = new ArrayList<>();
+        long rowsRead;
+        long rowsFailed;
+        long questionsUpserted;
+
+        void fail(long row, String message) {
+            rowsFailed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RowError(row, message));
+            }
+        }
+    }
+
+    private void flush(ImportState state, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (int updated : jdbcTemplate.batchUpdate(UPSERT_QUESTION_SQL, batch)) {
+            // SUCCESS_NO_INFO (-2) is reported by some drivers for batched statements
+            state.questionsUpserted += updated == -2 ? 1 : updated;
+        }
+        batch.clear();
+    }
+
+    // First reference to a pattern in this import creates or updates it
+    private UUID patternId(ImportState state, Row row) {
+        if (state.upsertedPatterns.contains(row.pattern())) {
+            return state.patternIds.get(row.pattern());
+        }
+        boolean hasMetadata = row.patternCategory() != null || row.patternImportance() != null
+                || row.patternMentalModel() != null;
+        UUID id = state.patternIds.get(row.pattern());
+        if (id == null || hasMetadata) {
+            id = jdbcTemplate.queryForObject(UPSERT_PATTERN_SQL, UUID.class,
+                    row.pattern(), row.patternCategory(), row.patternImportance(), row.patternMentalModel(),
+                    row.patternImportance());
+            state.patternIds.put(row.pattern(), id);
+            state.upsertedPatterns.add(row.pattern());
+        }
+        return id;
+    }
+
+    private static Row toRow(Map<String, String> fields) {
+        String title = required(fields, "title", 200);
+        String difficulty = required(fields, "difficulty", 10);
+        difficulty = switch (difficulty.toLowerCase(Locale.ROOT)) {
+            case "easy" -> "Easy";
+            case "medium" -> "Medium";
+            case "hard" -> "Hard";
+            default -> throw new IllegalArgumentException("difficulty must be Easy, Medium or Hard");
+        };
+        String leetcodeUrl = required(fields, "leetcodeurl", 2000);
+        if (!leetcodeUrl.startsWith("https://") && !leetcodeUrl.startsWith("http://")) {
+            throw new IllegalArgumentException("leetcode_url must be an http(s) URL");
+        }
+        int timeMinutes = requiredInt(fields, "timeminutes", 1, 600);
+        int orderIndex = requiredInt(fields, "orderindex", 1, Integer.MAX_VALUE);
+        String pattern = required(fields, "pattern", 100);
+        String category = optional(fields, "patterncategory", 50);
+        Integer patternImportance = optional(fields, "patternimportance", 11) != null
+                ? requiredInt(fields, "patternimportance", 1, 5)
+                : null;
+        String mentalModel = optional(fields, "patternmentalmodel", 10_000);
+        return new Row(title, difficulty, leetcodeUrl, timeMinutes, orderIndex, pattern, category,
+                patternImportance, mentalModel);
+    }
+
+    private static String required(Map<String, String> fields, String name, int maxLength) {
+        String value = optional(fields, name, maxLength);
+        if (value == null) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+
+    private static String optional(Map<String, String> fields, String name, int maxLength) {
+        String value = fields.get(name);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        value = value.trim();
+        if (value.length() > maxLength) {
+            throw new IllegalArgumentException(name + " is longer than " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private static int requiredInt(Map<String, String> fields, String name, int min, int max) {
+        String value = required(fields, name, 11);
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < min || parsed > max) {
+                throw new IllegalArgumentException(name + " is out of range");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a whole number");
+        }
+    }
+
+    // order_index, orderIndex and "Order Index" all map to "orderindex"
+    private static String normalizeKey(String key) {
+        return key.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Top-level JSON array of objects, one element in memory at a time.
+     */
+    private Iterator<Map<String, String>> jsonRecords(InputStream input) {
+        try {
+            JsonParser parser = objectMapper.getFactory().createParser(input);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("JSON import must be an array of question objects");
+            }
+            return new Iterator<>() {
+                private JsonToken next = parser.nextToken();
+
+                @Override
+                public boolean hasNext() {
+                    return next != null && next != JsonToken.END_ARRAY;
+                }
+
+                @Override
+                public Map<String, String> next() {
+                    try {
+                        Map<String, String> fields = new HashMap<>();
+                        if (next == JsonToken.START_OBJECT) {
+                            JsonNode node = parser.readValueAsTree();
+                            node.fields().forEachRemaining(e -> fields.put(normalizeKey(e.getKey()),
+                                    e.getValue().isNull() ? null : e.getValue().asText()));
+                        } else {
+                            // Not an object: skip it and let validation report the row
+                            parser.skipChildren();
+                        }
+                        next = parser.nextToken();
+                        return fields;
+                    } catch (JsonProcessingException e) {
+                        throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage());
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row; quoted fields may contain commas,
+     * doubled quotes and line breaks.
+     */
+    private static Iterator<Map<String, String>> csvRecords(InputStream input) {
+        Reader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<String> header = readCsvRecord(reader);
+        if (header == null) {
+            throw new IllegalArgumentException("CSV import must start with a header row");
+        }
+        List<String> keys = new ArrayList<>();
+        for (String column : header) {
+            keys.add(normalizeKey(column));
+        }
+        return new Iterator<>() {
+            private List<String> next = readCsvRecord(reader);
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Map<String, String> next() {
+                Map<String, String> fields = new HashMap<>();
+                for (int i = 0; i < keys.size() && i < next.size(); i++) {
+                    fields.put(keys.get(i), next.get(i));
+                }
+                next = readCsvRecord(reader);
+                return fields;
+            }
+        };
+    }
+
+    // Next record, or null at end of input; blank lines are skipped. The reader must
+    // support mark/reset. Package-private for tests.
+    static List<String> readCsvRecord(Reader reader) {
+        try {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int peek = reader.read();
+                        if (peek == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (peek != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    if (fields.isEmpty() && field.length() == 0) {
+                        any = false;
+                        continue;
+                    }
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            if (!any) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
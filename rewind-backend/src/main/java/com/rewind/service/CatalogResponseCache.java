@@ -0,0 +1,183 @@
+package com.rewind.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-rendered JSON for the public catalog endpoints. Each response is
+ * serialized and gzip-compressed once per catalog snapshot version, with a
+ * strong ETag from a hash of the JSON. Requests are answered with the stored
+ * bytes, or 304 when If-None-Match matches. At most max-entries renderings are
+ * kept per snapshot; the least recently used one is evicted beyond that.
+ */
+@Component
+public class CatalogResponseCache {
+
+    /**
+     * Stored representation: identity and gzip bodies, each with its own ETag.
+     */
+    public record Rendered(byte[] body, byte[] gzipped, String etag, String gzipEtag) {
+    }
+
+    private record Entries(long catalogVersion, Map<String, Rendered> rendered) {
+    }
+
+    private final QuestionCatalog questionCatalog;
+    private final ObjectMapper objectMapper;
+
+    // Bounds the number of distinct filter/page combinations kept per snapshot
+    @Value("${catalog.response-cache.max-entries:512}")
+    private int maxEntries;
+
+    @Value("${catalog.response-cache.max-age:1h}")
+    private Duration maxAge;
+
+    private volatile Entries entries = new Entries(-1, Map.of());
+
+    public CatalogResponseCache(QuestionCatalog questionCatalog, ObjectMapper objectMapper) {
+        this.questionCatalog = questionCatalog;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Answer a catalog request from the stored rendering of {@code key}, rendering
+     * {@code body} first if this snapshot version has not been served yet.
+     */
+    public ResponseEntity<byte[]> respond(String key, String ifNoneMatch, String acceptEncoding,
+            Supplier<Object> body) {
+        Rendered rendered = get(key, body);
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(gzip ? rendered.gzipEtag() : rendered.etag());
+        headers.setCacheControl(CacheControl.maxAge(maxAge).cachePublic());
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+
+        if (matches(ifNoneMatch, rendered)) {
+            return ResponseEntity.status(304).headers(headers).build();
+        }
+
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        byte[] bytes = gzip ? rendered.gzipped() : rendered.body();
+        headers.setContentLength(bytes.length);
+        return ResponseEntity.ok().headers(headers).body(bytes);
+    }
+
+    /**
+     * ETags of {@code key}'s identity and gzip representations, in that order.
+     * A client holds whichever one it was served.
+     */
+    public List<String> etags(String key, Supplier<Object> body) {
+        Rendered rendered = get(key, body);
+        return List.of(rendered.etag(), rendered.gzipEtag());
+    }
+
+    private Rendered get(String key, Supplier<Object> body) {
+        long version = questionCatalog.snapshot().version();
+        Entries current = entries;
+        if (current.catalogVersion() != version) {
+            synchronized (this) {
+                if (entries.catalogVersion() != version) {
+                    // New snapshot: everything is rendered again on first use
+                    entries = new Entries(version, lruMap(maxEntries));
+                }
+                current = entries;
+            }
+        }
+
+        Rendered rendered = current.rendered().get(key);
+        if (rendered == null) {
+            // Rendered outside the map's lock; a concurrent duplicate render is harmless
+            rendered = render(body.get());
+            current.rendered().putIfAbsent(key, rendered);
+        }
+        return rendered;
+    }
+
+    private static Map<String, Rendered> lruMap(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Rendered> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    private Rendered render(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json), 0, 16);
+            return new Rendered(json, gzip(json), "\"" + hash + "\"", "\"" + hash + "-gzip\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render catalog response", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = token.trim().split(";");
+            if (parts[0].trim().equals("gzip")) {
+                // gzip;q=0 means "not acceptable"
+                return !(parts.length > 1 && parts[1].replace(" ", "").matches("q=0(\\.0*)?"));
+            }
+        }
+        return false;
+    }
+
+    // Either representation's tag counts: both carry the same JSON
+    private static boolean matches(String ifNoneMatch, Rendered rendered) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(rendered.etag())
+                    || candidate.equals(rendered.gzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,51 @@
+package com.rewind.service;
+
+import com.rewind.model.User;
+import com.rewind.repository.UserQuestionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Calendar days in the user's time zone, shared by the analytics and activity
+ * endpoints and the progress counters. Grouping by day is done in SQL with
+ * AT TIME ZONE, so every daily aggregate uses the same day boundaries.
+ */
+@Component
+@RequiredArgsConstructor
+public class DayBuckets {
+
+    private final UserQuestionRepository userQuestionRepository;
+
+    public LocalDate today(User user) {
+        return LocalDate.now(user.zoneId());
+    }
+
+    /**
+     * Completions per day from {@code from} (inclusive) through today, oldest
+     * first; days without completions are absent.
+     */
+    public Map<LocalDate, Integer> completionsByDay(User user, LocalDate from) {
+        return completionsByDay(user.getId(), user.zoneId(), from);
+    }
+
+    public Map<LocalDate, Integer> completionsByDay(UUID userId, ZoneId zone, LocalDate from) {
+        Instant since = from.atStartOfDay(zone).toInstant();
+        List<Object[]> rows = userQuestionRepository.findDailyActivityCounts(userId, since, zone.getId());
+
+        Map<LocalDate, Integer> byDay = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            // java.sql.Date or LocalDate depending on the driver mapping
+            LocalDate day = row[0] instanceof java.sql.Date date ? date.toLocalDate() : LocalDate.parse(row[0].toString());
+            byDay.put(day, ((Number) row[1]).intValue());
+        }
+        return byDay;
+    }
+}
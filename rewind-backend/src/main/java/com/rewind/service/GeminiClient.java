@@ -0,0 +1,255 @@
+package com.rewind.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewind.model.AiUsageDaily;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Shared HTTP client for the Gemini generateContent API.
+ * Wraps every call with a circuit breaker, bounded exponential retries with
+ * full jitter for transient failures (429/5xx/timeouts), and a caller-supplied
+ * deadline that caps the total time spent including backoff. Every attempt is
+ * reported to {@link AiCallMetrics}, tagged with the calling feature.
+ */
+@Component
+@Slf4j
+public class GeminiClient {
+
+    private final GeminiCircuitBreaker circuitBreaker;
+    private final AiCallMetrics metrics;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    @Value("${gemini.api-key:}")
+    private String apiKey;
+
+    // Overridable so the pipeline can run against a local stand-in (see the bench profile in the test sources)
+    @Value("${gemini.base-url:https://generativelanguage.googleapis.com/v1beta}")
+    private String baseUrl;
+
+    @Value("${gemini.model:gemini-2.5-flash}")
+    private String model;
+
+    @Value("${gemini.resilience.call-timeout:30s}")
+    private Duration callTimeout;
+
+    @Value("${gemini.resilience.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${gemini.resilience.initial-backoff:500ms}")
+    private Duration initialBackoff;
+
+    @Value("${gemini.resilience.max-backoff:8s}")
+    private Duration maxBackoff;
+
+    public GeminiClient(GeminiCircuitBreaker circuitBreaker,
+            AiCallMetrics metrics,
+            ObjectMapper objectMapper,
+            @Value("${gemini.resilience.connect-timeout:5s}") Duration connectTimeout) {
+        this.circuitBreaker = circuitBreaker;
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    public boolean isConfigured() {
+        return apiKey != null && !apiKey.isEmpty();
+    }
+
+    /**
+     * Call generateContent with the given request body on behalf of a feature and
+     * (optionally) a user, for usage accounting.
+     * Returns the parsed response body, or null when Gemini rejected the request
+     * with a non-retryable error (e.g. 400). Throws
+     * {@link GeminiUnavailableException} when the upstream is unhealthy: the
+     * circuit is open, the deadline has passed, or retries were exhausted.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> generateContent(AiUsageDaily.Feature feature, UUID userId,
+            Map<String, Object> requestBody, Instant deadline) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(requestBody);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not serialize Gemini request", e);
+        }
+
+        for (int attempt = 1;; attempt++) {
+            Duration remaining = Duration.between(Instant.now(), deadline);
+            if (remaining.isNegative() || remaining.isZero()) {
+                metrics.recordRejected(feature, "deadline");
+                throw new GeminiUnavailableException("Analysis deadline exceeded before Gemini call");
+            }
+            if (!circuitBreaker.tryAcquirePermission()) {
+                metrics.recordRejected(feature, "circuit_open");
+                throw new GeminiUnavailableException("Gemini circuit is open", true);
+            }
+
+            Duration timeout = remaining.compareTo(callTimeout) < 0 ? remaining : callTimeout;
+            Duration retryAfter = null;
+            String failure;
+            long startedAt = System.nanoTime();
+            try {
+                HttpRequest request = HttpRequest.newBuilder()
+                        .uri(URI.create(generateContentUrl() + "?key=" + apiKey))
+                        .timeout(timeout)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                int status = response.statusCode();
+                log.info("Gemini API response status: {} for {} (attempt {})", status, feature, attempt);
+
+                if (status == 200) {
+                    circuitBreaker.onSuccess();
+                    Map<String, Object> parsed = objectMapper.readValue(response.body(), Map.class);
+                    metrics.recordCall(feature, userId, elapsedSince(startedAt), "200", parsed);
+                    return parsed;
+                }
+                metrics.recordCall(feature, userId, elapsedSince(startedAt), String.valueOf(status), null);
+                if (!isRetryable(status)) {
+                    // The upstream is healthy, it just rejected this request
+                    circuitBreaker.onSuccess();
+                    log.warn("Gemini API rejected request with status {}: {}", status, response.body());
+                    return null;
+                }
+                failure = "HTTP " + status;
+                retryAfter = parseRetryAfter(response);
+            } catch (HttpTimeoutException e) {
+                metrics.recordCall(feature, userId, elapsedSince(startedAt), "timeout", null);
+                failure = "timeout after " + timeout.toMillis() + "ms";
+            } catch (IOException e) {
+                metrics.recordCall(feature, userId, elapsedSince(startedAt), "io_error", null);
+                failure = e.getClass().getSimpleName() + ": " + e.getMessage();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                circuitBreaker.onFailure();
+                throw new GeminiUnavailableException("Interrupted while calling Gemini");
+            } catch (RuntimeException e) {
+                // Anything unexpected still reports an outcome, so a half-open probe is released
+                circuitBreaker.onFailure();
+                throw e;
+            }
+
+            circuitBreaker.onFailure();
+            log.warn("Transient Gemini failure on attempt {}/{}: {}", attempt, maxAttempts, failure);
+            if (attempt >= maxAttempts) {
+                throw new GeminiUnavailableException("Gemini unavailable after " + attempt + " attempts: " + failure);
+            }
+            sleepBeforeRetry(attempt, retryAfter, deadline);
+        }
+    }
+
+    /**
+     * Extract the first text part of a generateContent response.
+     */
+    @SuppressWarnings("unchecked")
+    public static String extractText(Map<String, Object> response) {
+        if (response == null) {
+            return null;
+        }
+        try {
+            List<Map<String, Object>> candidates = (List<Map<String, Object>>) response.get("candidates");
+            if (candidates != null && !candidates.isEmpty()) {
+                Map<String, Object> content = (Map<String, Object>) candidates.get(0).get("content");
+                List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
+                if (parts != null && !parts.isEmpty()) {
+                    return (String) parts.get(0).get("text");
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error parsing Gemini response: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private String generateContentUrl() {
+        String base = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        return base + "/models/" + model + ":generateContent";
+    }
+
+    private Duration elapsedSince(long startedAtNanos) {
+        return Duration.ofNanos(System.nanoTime() - startedAtNanos);
+    }
+
+    private boolean isRetryable(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    private Duration parseRetryAfter(HttpResponse<String> response) {
+        return response.headers().firstValue("Retry-After")
+                .map(value -> {
+                    try {
+                        return Duration.ofSeconds(Long.parseLong(value.trim()));
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                })
+                .orElse(null);
+    }
+
+    /**
+     * Exponential backoff with full jitter, never sleeping past the deadline.
+     */
+    private void sleepBeforeRetry(int attempt, Duration retryAfter, Instant deadline) {
+        long cap = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() * (1L << Math.min(attempt - 1, 20)));
+        long sleepMillis = ThreadLocalRandom.current().nextLong(cap + 1);
+        if (retryAfter != null) {
+            sleepMillis = Math.max(sleepMillis, retryAfter.toMillis());
+        }
+
+        long remainingMillis = Duration.between(Instant.now(), deadline).toMillis();
+        if (sleepMillis >= remainingMillis) {
+            throw new GeminiUnavailableException("Analysis deadline would be exceeded while backing off");
+        }
+
+        try {
+            Thread.sleep(sleepMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeminiUnavailableException("Interrupted while backing off");
+        }
+    }
+
+    /**
+     * Gemini is unhealthy or the caller's deadline ran out. The work should be
+     * retried later rather than reported as a failed analysis.
+     */
+    public static class GeminiUnavailableException extends RuntimeException {
+        private final boolean circuitOpen;
+
+        public GeminiUnavailableException(String message) {
+            this(message, false);
+        }
+
+        public GeminiUnavailableException(String message, boolean circuitOpen) {
+            super(message);
+            this.circuitOpen = circuitOpen;
+        }
+
+        /**
+         * True when the call was rejected locally by the circuit breaker without
+         * reaching Gemini.
+         */
+        public boolean isCircuitOpen() {
+            return circuitOpen;
+        }
+    }
+}
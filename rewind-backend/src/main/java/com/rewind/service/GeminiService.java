@@ -1,21 +1,26 @@
 package com.rewind.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rewind.model.AIFeedback;
+import com.rewind.model.AiUsageDaily;
 import com.rewind.model.UserQuestion;
 import com.rewind.repository.AIFeedbackRepository;
 import com.rewind.repository.ExplanationRecordingRepository;
-import com.rewind.service.TranscriptService;
+import com.rewind.service.GeminiClient.GeminiUnavailableException;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @Slf4j
@@ -25,97 +30,253 @@ public class GeminiService {
     private final ExplanationRecordingRepository recordingRepository;
     private final com.rewind.repository.SolutionRepository solutionRepository;
     private final TranscriptService transcriptService;
-    private final RestTemplate restTemplate;
+    private final TranscriptAnalyzer transcriptAnalyzer;
+    private final GeminiClient geminiClient;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
 
-    @Value("${gemini.api-key:}")
-    private String apiKey;
+    // "combined" = one structured-output call per recording, "separate" = one call
+    // per feedback type
+    @Value("${gemini.feedback-mode:combined}")
+    private String feedbackMode;
 
-    private static final String GEMINI_API_URL = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent";
+    @Value("${gemini.resilience.recording-deadline:120s}")
+    private Duration recordingDeadline;
+
+    @Value("${gemini.resilience.requeue-max-attempts:5}")
+    private int requeueMaxAttempts;
+
+    @Value("${gemini.resilience.requeue-initial-delay:2m}")
+    private Duration requeueInitialDelay;
 
     public GeminiService(AIFeedbackRepository feedbackRepository,
             ExplanationRecordingRepository recordingRepository,
             com.rewind.repository.SolutionRepository solutionRepository,
-            TranscriptService transcriptService) {
+            TranscriptService transcriptService,
+            TranscriptAnalyzer transcriptAnalyzer,
+            GeminiClient geminiClient,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate) {
         this.feedbackRepository = feedbackRepository;
         this.recordingRepository = recordingRepository;
         this.solutionRepository = solutionRepository;
         this.transcriptService = transcriptService;
-        this.restTemplate = new RestTemplate();
+        this.transcriptAnalyzer = transcriptAnalyzer;
+        this.geminiClient = geminiClient;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
     }
 
     /**
      * Process recording analysis asynchronously (Solution Feedback + Transcription
      * + Communication Tips).
+     * All Gemini calls share one deadline. If Gemini is unavailable the recording
+     * is put back to PENDING with a retry time instead of being marked FAILED.
+     * No transaction (and no pooled connection) is held while Gemini is called:
+     * the recording is marked PROCESSING in one short transaction and the
+     * outcome is written in another. The returned future completes once the
+     * outcome has been written; request handlers ignore it.
+     */
+    @org.springframework.scheduling.annotation.Async
+    public CompletableFuture<Void> processRecording(UUID recordingId) {
+        return processRecording(recordingId, false);
+    }
+
+    /**
+     * Same as {@link #processRecording(UUID)}; with deepFeedback the
+     * communication tip always comes from Gemini instead of the local transcript
+     * metrics. The flag is stored so re-queued attempts keep it.
      */
     @org.springframework.scheduling.annotation.Async
-    @Transactional
-    public void processRecording(UUID recordingId) {
+    public CompletableFuture<Void> processRecording(UUID recordingId, boolean deepFeedback) {
         log.info("Starting async analysis for recording: {}", recordingId);
 
-        var recordingOptional = recordingRepository.findById(recordingId);
-        if (recordingOptional.isEmpty()) {
+        AnalysisInput input = transactionTemplate.execute(status -> startAnalysis(recordingId, deepFeedback));
+        if (input == null) {
             log.error("Recording not found for async analysis: {}", recordingId);
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
-        var recording = recordingOptional.get();
-        recording.setAnalysisStatus(com.rewind.model.ExplanationRecording.AnalysisStatus.PROCESSING);
-        recordingRepository.save(recording);
+        var recording = input.recording();
+        UserQuestion userQuestion = recording.getUserQuestion();
+        Instant deadline = Instant.now().plus(recordingDeadline);
 
         try {
-            UserQuestion userQuestion = recording.getUserQuestion();
+            List<AIFeedback> feedback = new ArrayList<>();
+
+            if (isCombinedMode()) {
+                // Transcribe first so a single structured call covers every feedback type
+                ensureTranscript(recording, deadline);
+                String llmTranscript = assessTranscript(userQuestion, recording, feedback);
+                feedback.addAll(analyzeCombined(userQuestion, recording, input.code(), input.language(),
+                        llmTranscript, deadline));
+            } else {
+                // 1. Analyze Solution Code
+                feedback.addAll(analyzeSolution(userQuestion, recording, input.code(), input.language(), deadline));
+
+                // 2. Transcribe Audio (if needed)
+                ensureTranscript(recording, deadline);
+
+                // 3. Analyze Transcript (if available and the local metrics are not conclusive)
+                String transcript = assessTranscript(userQuestion, recording, feedback);
+                if (transcript != null) {
+                    AIFeedback tip = analyzeTranscript(userQuestion, recording, transcript, deadline);
+                    if (tip != null) {
+                        feedback.add(tip);
+                    }
+                }
+            }
 
-            // 1. Analyze Solution Code
-            var latestSolution = solutionRepository.findLatestByUserQuestionId(userQuestion.getId());
-            String code = latestSolution.map(com.rewind.model.Solution::getCode).orElse("");
-            String language = latestSolution.map(com.rewind.model.Solution::getLanguage).orElse("python");
+            // Feedback, transcript metrics and status are written together, and only
+            // once every call succeeded, so a re-queued attempt never leaves partial
+            // rows behind
+            transactionTemplate.executeWithoutResult(status -> {
+                feedbackRepository.saveAll(feedback);
+                recording.setAnalysisStatus(com.rewind.model.ExplanationRecording.AnalysisStatus.COMPLETED);
+                recording.setAnalysisAttempts(0);
+                recordingRepository.save(recording);
+            });
+            log.info("Async analysis completed for recording: {}", recordingId);
 
-            analyzeSolution(userQuestion, recording, code, language);
+        } catch (GeminiUnavailableException e) {
+            requeue(recording, e);
+        } catch (Exception e) {
+            markFailed(recording, e);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
 
-            // 2. Transcribe Audio (if needed)
-            if ((recording.getTranscript() == null || recording.getTranscript().isEmpty())
-                    && recording.getAudioUrl() != null && !recording.getAudioUrl().isEmpty()) {
-                log.info("Transcribing recording during async analysis: {}", recordingId);
-                recording = transcriptService.transcribeRecording(recordingId);
-            }
+    /**
+     * Mark the recording PROCESSING and load everything the Gemini calls read,
+     * so the analysis can run on the detached recording. Returns null if the
+     * recording does not exist.
+     */
+    private AnalysisInput startAnalysis(UUID recordingId, boolean deepFeedback) {
+        var recording = recordingRepository.findById(recordingId).orElse(null);
+        if (recording == null) {
+            return null;
+        }
 
-            // 3. Analyze Transcript (if available)
-            String transcript = recording.getTranscript();
-            if (transcript != null && transcript.length() > 20) {
-                analyzeTranscript(userQuestion, recording, transcript);
-            }
+        recording.setAnalysisStatus(com.rewind.model.ExplanationRecording.AnalysisStatus.PROCESSING);
+        recording.setAnalysisRetryAt(null);
+        if (deepFeedback) {
+            recording.setDeepFeedback(true);
+        }
+        recordingRepository.save(recording);
 
-            // Mark as COMPLETED
-            recording.setAnalysisStatus(com.rewind.model.ExplanationRecording.AnalysisStatus.COMPLETED);
-            recordingRepository.save(recording);
-            log.info("Async analysis completed for recording: {}", recordingId);
+        UserQuestion userQuestion = recording.getUserQuestion();
+        Hibernate.initialize(userQuestion.getQuestion().getPattern());
 
-        } catch (Exception e) {
-            log.error("Async analysis failed for recording: {}", recordingId, e);
-            recording.setAnalysisStatus(com.rewind.model.ExplanationRecording.AnalysisStatus.FAILED);
+        var latestSolution = solutionRepository.findLatestByUserQuestionId(userQuestion.getId());
+        return new AnalysisInput(recording,
+                latestSolution.map(com.rewind.model.Solution::getCode).orElse(""),
+                latestSolution.map(com.rewind.model.Solution::getLanguage).orElse("python"));
+    }
+
+    private void requeue(com.rewind.model.ExplanationRecording recording, GeminiUnavailableException e) {
+        if (e.isCircuitOpen()) {
+            // Never reached Gemini, so this does not use up a re-queue attempt
+            Instant retryAt = Instant.now().plus(requeueInitialDelay);
+            log.warn("Gemini circuit open for recording {}, re-queued for {}", recording.getId(), retryAt);
+            recording.setAnalysisStatus(com.rewind.model.ExplanationRecording.AnalysisStatus.PENDING);
+            recording.setAnalysisRetryAt(retryAt);
+            recordingRepository.save(recording);
+            return;
+        }
+        int attempts = recording.getAnalysisAttempts() + 1;
+        recording.setAnalysisAttempts(attempts);
+        if (attempts < requeueMaxAttempts) {
+            Instant retryAt = Instant.now().plus(requeueInitialDelay.multipliedBy(1L << (attempts - 1)));
+            log.warn("Gemini unavailable for recording {} ({}), re-queued for {} (attempt {}/{})",
+                    recording.getId(), e.getMessage(), retryAt, attempts, requeueMaxAttempts);
+            recording.setAnalysisStatus(com.rewind.model.ExplanationRecording.AnalysisStatus.PENDING);
+            recording.setAnalysisRetryAt(retryAt);
             recordingRepository.save(recording);
+        } else {
+            markFailed(recording, e);
+        }
+    }
 
-            // Save error as feedback so user/dev can see it
-            try {
-                AIFeedback errorFeedback = AIFeedback.builder()
-                        .userQuestion(recording.getUserQuestion())
-                        .recording(recording)
-                        .feedbackType(AIFeedback.FeedbackType.HINT) // Use HINT so it shows up
-                        .message("⚠️ **Analysis Error**: " + e.getMessage())
-                        .build();
-                feedbackRepository.save(errorFeedback);
-            } catch (Exception persistenceEx) {
-                log.error("Failed to save error feedback", persistenceEx);
+    /**
+     * Transcribe the recording's audio if it has no transcript yet. The
+     * transcript is kept on the recording and written with the outcome, so a
+     * re-queued attempt does not transcribe again.
+     */
+    private void ensureTranscript(com.rewind.model.ExplanationRecording recording, Instant deadline) {
+        if ((recording.getTranscript() == null || recording.getTranscript().isEmpty())
+                && recording.getAudioUrl() != null && !recording.getAudioUrl().isEmpty()) {
+            log.info("Transcribing recording during async analysis: {}", recording.getId());
+            String transcript = transcriptService.transcribe(recording.getAudioUrl(),
+                    recording.getUserQuestion().getUser().getId(), deadline);
+            if (transcript != null) {
+                recording.setTranscript(transcript);
             }
         }
     }
 
     /**
-     * Analyze a solution and generate AI feedback.
+     * Compute local transcript metrics and store them on the recording. When the
+     * metrics are clear-cut (and deep feedback was not requested) a rule-based
+     * communication tip is added to the feedback and null is returned; otherwise
+     * the transcript is returned so Gemini writes the tip.
+     */
+    private String assessTranscript(UserQuestion userQuestion, com.rewind.model.ExplanationRecording recording,
+            List<AIFeedback> feedback) {
+        String transcript = usableTranscript(recording);
+        if (transcript == null) {
+            return null;
+        }
+
+        var metrics = transcriptAnalyzer.analyze(transcript, recording.getDurationSeconds());
+        transcriptAnalyzer.apply(recording, metrics);
+        var assessment = transcriptAnalyzer.assess(metrics);
+
+        if (Boolean.TRUE.equals(recording.getDeepFeedback()) || assessment.ambiguous()) {
+            log.info("Communication tip for recording {} needs Gemini (deep={}, borderline={})", recording.getId(),
+                    recording.getDeepFeedback(), assessment.borderline());
+            return transcript;
+        }
+
+        addFeedback(feedback, userQuestion, recording, AIFeedback.FeedbackType.COMMUNICATION_TIP,
+                transcriptAnalyzer.buildTip(metrics, assessment));
+        return null;
+    }
+
+    private String usableTranscript(com.rewind.model.ExplanationRecording recording) {
+        String transcript = recording.getTranscript();
+        return transcript != null && transcript.length() > 20 ? transcript : null;
+    }
+
+    private boolean isCombinedMode() {
+        return "combined".equalsIgnoreCase(feedbackMode);
+    }
+
+    private void markFailed(com.rewind.model.ExplanationRecording recording, Exception e) {
+        log.error("Async analysis failed for recording: {}", recording.getId(), e);
+        recording.setAnalysisStatus(com.rewind.model.ExplanationRecording.AnalysisStatus.FAILED);
+        recording.setAnalysisRetryAt(null);
+        recordingRepository.save(recording);
+
+        // Save error as feedback so user/dev can see it
+        try {
+            AIFeedback errorFeedback = AIFeedback.builder()
+                    .userQuestion(recording.getUserQuestion())
+                    .recording(recording)
+                    .feedbackType(AIFeedback.FeedbackType.HINT) // Use HINT so it shows up
+                    .message("⚠️ **Analysis Error**: " + e.getMessage())
+                    .build();
+            feedbackRepository.save(errorFeedback);
+        } catch (Exception persistenceEx) {
+            log.error("Failed to save error feedback", persistenceEx);
+        }
+    }
+
+    /**
+     * Analyze a solution and build AI feedback (not yet persisted).
      */
     public List<AIFeedback> analyzeSolution(UserQuestion userQuestion, com.rewind.model.ExplanationRecording recording,
-            String code, String language) {
-        if (apiKey == null || apiKey.isEmpty()) {
+            String code, String language, Instant deadline) {
+        if (!geminiClient.isConfigured()) {
             log.warn("Gemini API key not configured, skipping analysis");
             return List.of();
         }
@@ -127,44 +288,123 @@ public class GeminiService {
                 userQuestion.getQuestion().getPattern().getName(), userQuestion.getQuestion().getDifficulty(), code,
                 language);
 
-        String solutionFeedback = callGemini(solutionPrompt);
+        String solutionFeedback = callGemini(AiUsageDaily.Feature.HINT, userQuestion, solutionPrompt, deadline);
         if (solutionFeedback != null) {
             AIFeedback hint = AIFeedback.builder().userQuestion(userQuestion).recording(recording)
                     .feedbackType(AIFeedback.FeedbackType.HINT).message(solutionFeedback).build();
-            feedbackList.add(feedbackRepository.save(hint));
+            feedbackList.add(hint);
         }
 
         // Generate reflection question
         String reflectionPrompt = buildReflectionPrompt(userQuestion.getQuestion().getTitle(),
                 userQuestion.getQuestion().getPattern().getName());
 
-        String reflectionFeedback = callGemini(reflectionPrompt);
+        String reflectionFeedback = callGemini(AiUsageDaily.Feature.REFLECTION_QUESTION, userQuestion,
+                reflectionPrompt, deadline);
         if (reflectionFeedback != null) {
             AIFeedback reflection = AIFeedback.builder().userQuestion(userQuestion).recording(recording)
                     .feedbackType(AIFeedback.FeedbackType.REFLECTION_QUESTION).message(reflectionFeedback).build();
-            feedbackList.add(feedbackRepository.save(reflection));
+            feedbackList.add(reflection);
         }
 
         return feedbackList;
     }
 
     /**
-     * Analyze a transcript and provide communication tips.
+     * Build all feedback types from a single structured-output Gemini call (not
+     * yet persisted). The communication tip is only requested when a transcript is
+     * passed. Falls back to separate calls if the JSON response is unusable.
+     */
+    public List<AIFeedback> analyzeCombined(UserQuestion userQuestion,
+            com.rewind.model.ExplanationRecording recording, String code, String language, String transcript,
+            Instant deadline) {
+        if (!geminiClient.isConfigured()) {
+            log.warn("Gemini API key not configured, skipping analysis");
+            return List.of();
+        }
+
+        var question = userQuestion.getQuestion();
+        String prompt = buildCombinedPrompt(question.getTitle(), question.getPattern().getName(),
+                question.getDifficulty(), code, language, transcript);
+
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("hint", Map.of("type", "STRING"));
+        properties.put("reflectionQuestion", Map.of("type", "STRING"));
+        List<String> required = new ArrayList<>(List.of("hint", "reflectionQuestion"));
+        if (transcript != null) {
+            properties.put("communicationTip", Map.of("type", "STRING"));
+            required.add("communicationTip");
+        }
+
+        Map<String, Object> requestBody = Map.of("contents",
+                List.of(Map.of("parts", List.of(Map.of("text", prompt)))), "generationConfig",
+                Map.of("temperature", 0.7, "maxOutputTokens", 6000,
+                        "responseMimeType", "application/json",
+                        "responseSchema", Map.of("type", "OBJECT", "properties", properties, "required", required)));
+
+        String json = GeminiClient.extractText(geminiClient.generateContent(AiUsageDaily.Feature.COMBINED_FEEDBACK,
+                userQuestion.getUser().getId(), requestBody, deadline));
+        CombinedFeedback combined = parseCombined(json);
+        if (combined == null) {
+            log.warn("Unusable combined feedback for recording {}, falling back to separate calls", recording.getId());
+            List<AIFeedback> fallback = new ArrayList<>(
+                    analyzeSolution(userQuestion, recording, code, language, deadline));
+            if (transcript != null) {
+                AIFeedback tip = analyzeTranscript(userQuestion, recording, transcript, deadline);
+                if (tip != null) {
+                    fallback.add(tip);
+                }
+            }
+            return fallback;
+        }
+
+        List<AIFeedback> feedbackList = new ArrayList<>();
+        addFeedback(feedbackList, userQuestion, recording, AIFeedback.FeedbackType.HINT, combined.hint());
+        addFeedback(feedbackList, userQuestion, recording, AIFeedback.FeedbackType.REFLECTION_QUESTION,
+                combined.reflectionQuestion());
+        if (transcript != null) {
+            addFeedback(feedbackList, userQuestion, recording, AIFeedback.FeedbackType.COMMUNICATION_TIP,
+                    combined.communicationTip());
+        }
+        return feedbackList;
+    }
+
+    private void addFeedback(List<AIFeedback> feedbackList, UserQuestion userQuestion,
+            com.rewind.model.ExplanationRecording recording, AIFeedback.FeedbackType type, String message) {
+        if (message != null && !message.isBlank()) {
+            feedbackList.add(AIFeedback.builder().userQuestion(userQuestion).recording(recording)
+                    .feedbackType(type).message(message.trim()).build());
+        }
+    }
+
+    private CombinedFeedback parseCombined(String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, CombinedFeedback.class);
+        } catch (Exception e) {
+            log.error("Error parsing combined Gemini feedback: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Analyze a transcript and build a communication tip (not yet persisted).
      */
     public AIFeedback analyzeTranscript(UserQuestion userQuestion, com.rewind.model.ExplanationRecording recording,
-            String transcript) {
-        if (apiKey == null || apiKey.isEmpty()) {
+            String transcript, Instant deadline) {
+        if (!geminiClient.isConfigured()) {
             log.warn("Gemini API key not configured, skipping transcript analysis");
             return null;
         }
 
         String prompt = buildCommunicationPrompt(userQuestion.getQuestion().getTitle(), transcript);
 
-        String feedback = callGemini(prompt);
+        String feedback = callGemini(AiUsageDaily.Feature.COMMUNICATION_TIP, userQuestion, prompt, deadline);
         if (feedback != null) {
-            AIFeedback tip = AIFeedback.builder().userQuestion(userQuestion).recording(recording)
+            return AIFeedback.builder().userQuestion(userQuestion).recording(recording)
                     .feedbackType(AIFeedback.FeedbackType.COMMUNICATION_TIP).message(feedback).build();
-            return feedbackRepository.save(tip);
         }
         return null;
     }
@@ -240,56 +480,62 @@ public class GeminiService {
                 """.formatted(title, transcript);
     }
 
-    // ========== API CALL ==========
+    private String buildCombinedPrompt(String title, String pattern, String difficulty, String code,
+            String language, String transcript) {
+        String prompt = """
+                You are an expert DSA interview coach. Review this candidate's work and respond with JSON only.
 
-    private String callGemini(String prompt) {
-        try {
-            // Log API key status (not the key itself)
-            log.info("Calling Gemini API, key configured: {}, key length: {}", apiKey != null && !apiKey.isEmpty(),
-                    apiKey != null ? apiKey.length() : 0);
+                **Problem:** %s
+                **Pattern:** %s
+                **Difficulty:** %s
+                **Language:** %s
 
-            String url = GEMINI_API_URL + "?key=" + apiKey;
+                **Solution Code:**
+                ```%s
+                %s
+                ```
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+                Fill these fields:
+                - "hint": concise, actionable solution feedback covering
+                  1. **What's Good:** One thing done well
+                  2. **Improvement:** Specific suggestions to make the code cleaner or more efficient
+                  3. **Optimizable:** Let user know if this can be optimised further
+                  Keep under 150 words. Be strict and constructive. Markdown is allowed.
+                - "reflectionQuestion": ONE Socratic reflection question that helps the learner connect this
+                  problem to similar problems, think about when to use this pattern, or understand the core
+                  insight. Be specific to this problem. Keep under 30 words.
+                """.formatted(title, pattern, difficulty, language, language, code);
 
-            Map<String, Object> requestBody = Map.of("contents",
-                    List.of(Map.of("parts", List.of(Map.of("text", prompt)))), "generationConfig",
-                    Map.of("temperature", 0.7, "maxOutputTokens", 4000));
+        if (transcript == null) {
+            return prompt;
+        }
+        return prompt + """
+                - "communicationTip": multiple specific tips to improve how the candidate explained their
+                  solution for a FAANG interview. Focus on: clarity, structure, pacing, or technical vocabulary.
+                  Keep under 100 words. Be strict and constructive.
 
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, request, Map.class);
+                **Transcript of the candidate's explanation:**
+                %s
+                """.formatted(transcript);
+    }
 
-            log.info("Gemini API response status: {}", response.getStatusCode());
+    // ========== API CALL ==========
 
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                String text = extractTextFromResponse(response.getBody());
-                log.info("Gemini returned text of length: {}", text != null ? text.length() : 0);
-                return text;
-            } else {
-                log.warn("Gemini API returned non-OK status or empty body: {}", response.getStatusCode());
-            }
-        } catch (Exception e) {
-            log.error("Error calling Gemini API: {} - {}", e.getClass().getSimpleName(), e.getMessage());
-            e.printStackTrace();
-        }
-        return null;
+    private String callGemini(AiUsageDaily.Feature feature, UserQuestion userQuestion, String prompt,
+            Instant deadline) {
+        Map<String, Object> requestBody = Map.of("contents",
+                List.of(Map.of("parts", List.of(Map.of("text", prompt)))), "generationConfig",
+                Map.of("temperature", 0.7, "maxOutputTokens", 4000));
+
+        String text = GeminiClient.extractText(geminiClient.generateContent(feature, userQuestion.getUser().getId(),
+                requestBody, deadline));
+        log.info("Gemini returned text of length: {}", text != null ? text.length() : 0);
+        return text;
     }
 
-    @SuppressWarnings("unchecked")
-    private String extractTextFromResponse(Map<String, Object> response) {
-        try {
-            List<Map<String, Object>> candidates = (List<Map<String, Object>>) response.get("candidates");
-            if (candidates != null && !candidates.isEmpty()) {
-                Map<String, Object> content = (Map<String, Object>) candidates.get(0).get("content");
-                List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
-                if (parts != null && !parts.isEmpty()) {
-                    return (String) parts.get(0).get("text");
-                }
-            }
-        } catch (Exception e) {
-            log.error("Error parsing Gemini response: {}", e.getMessage());
-        }
-        return null;
+    private record AnalysisInput(com.rewind.model.ExplanationRecording recording, String code, String language) {
+    }
+
+    private record CombinedFeedback(String hint, String reflectionQuestion, String communicationTip) {
     }
 }
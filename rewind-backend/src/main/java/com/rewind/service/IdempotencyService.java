@@ -0,0 +1,139 @@
+package com.rewind.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewind.model.IdempotencyKey;
+import com.rewind.repository.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Support for the Idempotency-Key request header on mutating endpoints.
+ * The first request with a key reserves it, runs, and stores its response;
+ * retries with the same key get the stored response back instead of running
+ * again. A retry that arrives while the first request is still running gets 409.
+ * Not lazy so the expiry job is registered.
+ */
+@Service
+@Lazy(false)
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository repository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${idempotency.ttl:24h}")
+    private Duration ttl;
+
+    // A reservation older than this without a response is treated as abandoned
+    @Value("${idempotency.in-progress-timeout:2m}")
+    private Duration inProgressTimeout;
+
+    public IdempotencyService(IdempotencyKeyRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Run the action at most once per (user, key). Without a key the action just
+     * runs. Responses with a 5xx status are not stored so the client can retry.
+     */
+    public ResponseEntity<?> execute(UUID userId, String key, String requestPath,
+            Supplier<ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Idempotency-Key is too long"));
+        }
+
+        Instant now = Instant.now();
+        if (repository.reserve(userId, key, requestPath, now) == 0
+                && repository.takeOverAbandoned(userId, key, now, now.minus(inProgressTimeout)) == 0) {
+            return replay(userId, key, requestPath);
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            repository.release(userId, key);
+            throw e;
+        }
+
+        if (response.getStatusCode().is5xxServerError()) {
+            repository.release(userId, key);
+        } else {
+            repository.complete(userId, key, response.getStatusCode().value(), serialize(response.getBody()));
+        }
+        return response;
+    }
+
+    /**
+     * Build the response for a key that was already used.
+     */
+    public ResponseEntity<?> replay(UUID userId, String key, String requestPath) {
+        IdempotencyKey stored = repository.findByUserIdAndIdempotencyKey(userId, key).orElse(null);
+        if (stored == null || stored.getResponseStatus() == null) {
+            // Either still running or released a moment ago after a failure
+            return ResponseEntity.status(409)
+                    .body(Map.of("error", "A request with this Idempotency-Key is in progress, retry shortly"));
+        }
+        if (!stored.getRequestPath().equals(requestPath)) {
+            return ResponseEntity.unprocessableEntity()
+                    .body(Map.of("error", "Idempotency-Key was already used for a different request"));
+        }
+        return toResponse(stored);
+    }
+
+    /**
+     * Stored response of a completed request, with the replay marker header.
+     */
+    public ResponseEntity<?> toResponse(IdempotencyKey stored) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.getResponseStatus())
+                .header(REPLAYED_HEADER, "true");
+        if (stored.getResponseBody() == null) {
+            return builder.build();
+        }
+        try {
+            return builder.body(objectMapper.readTree(stored.getResponseBody()));
+        } catch (JsonProcessingException e) {
+            log.error("Unreadable stored response for idempotency key {}", stored.getIdempotencyKey(), e);
+            return builder.build();
+        }
+    }
+
+    public String serialize(Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store idempotent response", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = repository.deleteCreatedBefore(Instant.now().minus(ttl));
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.rewind.service;
+
+import com.rewind.model.User;
+import com.rewind.model.UserProgressCounters;
+import com.rewind.model.UserQuestion;
+import com.rewind.repository.UserProgressCountersRepository;
+import com.rewind.repository.UserQuestionRepository;
+import com.rewind.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maintains user_progress_counters: incremented under a row lock in the same
+ * transaction as question and revision completion, read with a primary-key
+ * lookup by the readiness and analytics endpoints. Rows flagged
+ * rebuild_required (new rows, rows flagged by an admin) are recomputed from
+ * user_questions and revision_schedules, on first use or by the repair job.
+ * Days are the user's calendar days; counters built for another time zone are
+ * rebuilt the same way.
+ * Not lazy so the repair job is registered.
+ */
+@Service
+@Lazy(false)
+@Slf4j
+public class ProgressCounterService {
+
+    private final UserProgressCountersRepository countersRepository;
+    private final UserQuestionRepository userQuestionRepository;
+    private final UserRepository userRepository;
+    private final DayBuckets dayBuckets;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${progress-counters.repair-batch-size:200}")
+    private int repairBatchSize;
+
+    public ProgressCounterService(UserProgressCountersRepository countersRepository,
+            UserQuestionRepository userQuestionRepository, UserRepository userRepository, DayBuckets dayBuckets,
+            TransactionTemplate transactionTemplate) {
+        this.countersRepository = countersRepository;
+        this.userQuestionRepository = userQuestionRepository;
+        this.userRepository = userRepository;
+        this.dayBuckets = dayBuckets;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Count a question that was just marked DONE.
+     */
+    @Transactional
+    public void recordQuestionCompleted(User user, UserQuestion userQuestion) {
+        UserProgressCounters counters = lockCounters(user.getId(), user.zoneId());
+        if (counters == null) {
+            // Rebuilt from source, which already includes this completion
+            return;
+        }
+        Instant doneAt = userQuestion.getDoneAt() != null ? userQuestion.getDoneAt() : Instant.now();
+        counters.recordCompletion(userQuestion.getQuestion().getDifficulty(),
+                doneAt.atZone(user.zoneId()).toLocalDate());
+    }
+
+    /**
+     * Count a revision that was just completed.
+     */
+    @Transactional
+    public void recordRevisionCompleted(User user) {
+        UserProgressCounters counters = lockCounters(user.getId(), user.zoneId());
+        if (counters != null) {
+            counters.recordRevision();
+        }
+    }
+
+    /**
+     * Counters for reading. One primary-key lookup unless the row still has to
+     * be computed (or recomputed for the user's current time zone).
+     */
+    @Transactional
+    public UserProgressCounters getCounters(User user) {
+        ZoneId zone = user.zoneId();
+        UserProgressCounters counters = countersRepository.findById(user.getId()).orElse(null);
+        if (counters != null && !counters.getRebuildRequired() && zone.getId().equals(counters.getTimeZone())) {
+            return counters;
+        }
+        lockCounters(user.getId(), zone);
+        return countersRepository.findById(user.getId()).orElseThrow();
+    }
+
+    /**
+     * Flag one user's counters for recomputation by the repair job.
+     */
+    @Transactional
+    public void requestRebuild(UUID userId) {
+        if (countersRepository.markForRebuild(userId) == 0) {
+            countersRepository.insertIfAbsent(userId);
+        }
+    }
+
+    /**
+     * Flag every user's counters for recomputation by the repair job.
+     */
+    public int requestRebuildAll() {
+        return countersRepository.markAllForRebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${progress-counters.repair-interval-ms:60000}")
+    public void repairFlagged() {
+        List<UUID> userIds = countersRepository.findUserIdsRequiringRebuild(repairBatchSize);
+        for (UUID userId : userIds) {
+            try {
+                ZoneId zone = User.zoneOf(userRepository.findTimeZoneById(userId).orElse(null));
+                transactionTemplate.executeWithoutResult(status -> lockCounters(userId, zone));
+            } catch (Exception e) {
+                log.error("Failed to rebuild progress counters for user {}", userId, e);
+            }
+        }
+        if (!userIds.isEmpty()) {
+            log.info("Rebuilt progress counters for {} users", userIds.size());
+        }
+    }
+
+    /**
+     * Lock the user's row, creating it if needed. A flagged row is recomputed
+     * from source and null is returned, since the source already reflects
+     * everything written in this transaction.
+     */
+    private UserProgressCounters lockCounters(UUID userId, ZoneId zone) {
+        UserProgressCounters counters = countersRepository.findForUpdate(userId).orElse(null);
+        if (counters == null) {
+            countersRepository.insertIfAbsent(userId);
+            counters = countersRepository.findForUpdate(userId).orElseThrow();
+        }
+        if (!counters.getRebuildRequired() && zone.getId().equals(counters.getTimeZone())) {
+            return counters;
+        }
+        rebuild(counters, zone);
+        return null;
+    }
+
+    private void rebuild(UserProgressCounters counters, ZoneId zone) {
+        UUID userId = counters.getUserId();
+        // Make pending writes of this transaction visible to the queries below
+        userQuestionRepository.flush();
+
+        LocalDate bucketStart = LocalDate.now(zone).minusDays(UserProgressCounters.BUCKET_DAYS);
+        var counts = userQuestionRepository.getBreakdownCounts(userId, bucketStart.atStartOfDay(zone).toInstant());
+
+        counters.setCompletedTotal((int) counts.getCompleted());
+        counters.setCompletedEasy((int) counts.getEasyComplete());
+        counters.setCompletedMedium((int) counts.getMediumComplete());
+        counters.setCompletedHard((int) counts.getHardComplete());
+        counters.setRevisionsCompleted((int) counts.getRevisionsComplete());
+        counters.setBucketDay(null);
+        counters.setDailyCompletions(new int[UserProgressCounters.BUCKET_DAYS]);
+
+        // Streaks come from one gaps-and-islands query instead of replaying every day
+        var streaks = userQuestionRepository.getStreakSummary(userId, zone.getId());
+        counters.setCurrentStreak(streaks.getCurrentStreak());
+        counters.setLongestStreak(streaks.getLongestStreak());
+        counters.setLastActiveDate(streaks.getLastActiveDate());
+
+        // Only the days inside the bucket window are needed for the buckets
+        dayBuckets.completionsByDay(userId, zone, bucketStart).forEach(counters::addToBucket);
+
+        counters.setTimeZone(zone.getId());
+        counters.setRebuildRequired(false);
+        counters.setUpdatedAt(Instant.now());
+    }
+}
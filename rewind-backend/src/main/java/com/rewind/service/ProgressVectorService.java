@@ -0,0 +1,53 @@
+package com.rewind.service;
+
+import com.rewind.model.UserQuestion;
+import com.rewind.repository.UserQuestionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Packs a user's question statuses into a vector aligned to the catalog order
+ * (order_index): 2 bits per question, four questions per byte, lowest bits
+ * first. 0 = not started, 1 = started, 2 = done.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProgressVectorService {
+
+    public static final int BITS_PER_QUESTION = 2;
+
+    private final UserQuestionRepository userQuestionRepository;
+
+    /**
+     * Base64 (no padding) vector for the given catalog snapshot.
+     */
+    public String encode(UUID userId, QuestionCatalog.Snapshot snapshot) {
+        byte[] packed = new byte[(snapshot.questions().size() + 3) / 4];
+        List<Object[]> rows = userQuestionRepository.findQuestionStatusByUserId(userId);
+        for (Object[] row : rows) {
+            Integer position = snapshot.positionsById().get((UUID) row[0]);
+            if (position == null) {
+                // Question removed from the catalog since
+                continue;
+            }
+            int code = code((UserQuestion.Status) row[1]);
+            packed[position >> 2] |= (byte) (code << ((position & 3) * BITS_PER_QUESTION));
+        }
+        return Base64.getEncoder().withoutPadding().encodeToString(packed);
+    }
+
+    private static int code(UserQuestion.Status status) {
+        switch (status) {
+            case STARTED:
+                return 1;
+            case DONE:
+                return 2;
+            default:
+                return 0;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.rewind.service;
+
+import com.rewind.model.Pattern;
+import com.rewind.model.Question;
+import com.rewind.repository.PatternRepository;
+import com.rewind.repository.QuestionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * In-memory snapshot of the question/pattern catalog (seeded by Flyway and
+ * effectively static). Built once into immutable lists and maps and swapped
+ * atomically on reload, so readers never see a half-built catalog.
+ * Reloaded by the admin endpoint or when the Flyway schema version changes.
+ * Not lazy so the version check is registered.
+ */
+@Component
+@Lazy(false)
+@Slf4j
+public class QuestionCatalog {
+
+    public record CatalogPattern(UUID id, String name, String category, int importanceWeight,
+            String shortMentalModel) {
+    }
+
+    public record CatalogQuestion(UUID id, String title, String difficulty, String leetcodeUrl, int timeMinutes,
+            int orderIndex, CatalogPattern pattern) {
+    }
+
+    /**
+     * One consistent catalog version. Questions are ordered by orderIndex.
+     */
+    public record Snapshot(
+            long version,
+            Integer schemaVersion,
+            List<CatalogQuestion> questions,
+            List<CatalogPattern> patterns,
+            Map<UUID, CatalogQuestion> questionsById,
+            Map<UUID, Integer> positionsById,
+            Map<UUID, CatalogPattern> patternsById,
+            Map<UUID, List<CatalogQuestion>> questionsByPattern,
+            Map<String, List<CatalogQuestion>> questionsByDifficulty) {
+    }
+
+    private static final String SCHEMA_VERSION_SQL =
+            "SELECT MAX(installed_rank) FROM flyway_schema_history WHERE success";
+
+    private final QuestionRepository questionRepository;
+    private final PatternRepository patternRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Snapshot snapshot;
+
+    public QuestionCatalog(QuestionRepository questionRepository, PatternRepository patternRepository,
+            JdbcTemplate jdbcTemplate) {
+        this.questionRepository = questionRepository;
+        this.patternRepository = patternRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    snapshot = load(1);
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    public List<CatalogQuestion> questions() {
+        return snapshot().questions();
+    }
+
+    public List<CatalogPattern> patterns() {
+        return snapshot().patterns();
+    }
+
+    public Optional<CatalogQuestion> findQuestion(UUID questionId) {
+        return Optional.ofNullable(snapshot().questionsById().get(questionId));
+    }
+
+    public List<CatalogQuestion> questionsByPattern(UUID patternId) {
+        return snapshot().questionsByPattern().getOrDefault(patternId, List.of());
+    }
+
+    public List<CatalogQuestion> questionsByDifficulty(String difficulty) {
+        return snapshot().questionsByDifficulty().getOrDefault(difficulty, List.of());
+    }
+
+    public int questionCount() {
+        return snapshot().questions().size();
+    }
+
+    public int patternTotal(UUID patternId) {
+        return questionsByPattern(patternId).size();
+    }
+
+    /**
+     * Rebuild the snapshot from the database and swap it in.
+     */
+    public synchronized Snapshot reload() {
+        long nextVersion = snapshot != null ? snapshot.version() + 1 : 1;
+        snapshot = load(nextVersion);
+        return snapshot;
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.version-check-interval-ms:300000}")
+    public void reloadOnSchemaChange() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        Integer schemaVersion = currentSchemaVersion();
+        if (!Objects.equals(schemaVersion, current.schemaVersion())) {
+            log.info("Schema version changed ({} -> {}), reloading question catalog", current.schemaVersion(),
+                    schemaVersion);
+            reload();
+        }
+    }
+
+    private Snapshot load(long version) {
+        Integer schemaVersion = currentSchemaVersion();
+
+        Map<UUID, CatalogPattern> patternsById = new LinkedHashMap<>();
+        for (Pattern p : patternRepository.findAll()) {
+            patternsById.put(p.getId(), toCatalogPattern(p));
+        }
+
+        List<CatalogQuestion> questions = new ArrayList<>();
+        Map<UUID, List<CatalogQuestion>> byPattern = new HashMap<>();
+        Map<String, List<CatalogQuestion>> byDifficulty = new HashMap<>();
+        for (Question q : questionRepository.findAllWithPatternOrderByOrderIndex()) {
+            CatalogPattern pattern = patternsById.computeIfAbsent(q.getPattern().getId(),
+                    id -> toCatalogPattern(q.getPattern()));
+            CatalogQuestion question = new CatalogQuestion(q.getId(), q.getTitle(), q.getDifficulty(),
+                    q.getLeetcodeUrl(), q.getTimeMinutes(), q.getOrderIndex(), pattern);
+            questions.add(question);
+            byPattern.computeIfAbsent(pattern.id(), id -> new ArrayList<>()).add(question);
+            byDifficulty.computeIfAbsent(question.difficulty(), d -> new ArrayList<>()).add(question);
+        }
+
+        Map<UUID, CatalogQuestion> byId = new HashMap<>();
+        Map<UUID, Integer> positions = new HashMap<>();
+        for (int i = 0; i < questions.size(); i++) {
+            byId.put(questions.get(i).id(), questions.get(i));
+            positions.put(questions.get(i).id(), i);
+        }
+
+        Snapshot loaded = new Snapshot(
+                version,
+                schemaVersion,
+                List.copyOf(questions),
+                List.copyOf(patternsById.values()),
+                Map.copyOf(byId),
+                Map.copyOf(positions),
+                Collections.unmodifiableMap(new LinkedHashMap<>(patternsById)),
+                copyOfGroups(byPattern),
+                copyOfGroups(byDifficulty));
+        log.info("Loaded question catalog v{}: {} questions, {} patterns (schema {})", version, questions.size(),
+                patternsById.size(), schemaVersion);
+        return loaded;
+    }
+
+    private Integer currentSchemaVersion() {
+        try {
+            return jdbcTemplate.queryForObject(SCHEMA_VERSION_SQL, Integer.class);
+        } catch (Exception e) {
+            // No Flyway history (e.g. Flyway disabled): rely on admin reloads only
+            return null;
+        }
+    }
+
+    private static <K> Map<K, List<CatalogQuestion>> copyOfGroups(Map<K, List<CatalogQuestion>> groups) {
+        Map<K, List<CatalogQuestion>> copy = new HashMap<>();
+        groups.forEach((key, list) -> copy.put(key, List.copyOf(list)));
+        return Map.copyOf(copy);
+    }
+
+    private static CatalogPattern toCatalogPattern(Pattern p) {
+        return new CatalogPattern(p.getId(), p.getName(), p.getCategory(),
+                p.getImportanceWeight() != null ? p.getImportanceWeight() : 1, p.getShortMentalModel());
+    }
+}
@@ -0,0 +1,285 @@
+package com.rewind.service;
+
+import com.rewind.model.User;
+import com.rewind.model.UserPatternStats;
+import com.rewind.model.UserQuestion;
+import com.rewind.repository.UserPatternStatsRepository;
+import com.rewind.repository.UserQuestionRepository;
+import com.rewind.service.QuestionCatalog.CatalogPattern;
+import com.rewind.service.QuestionCatalog.CatalogQuestion;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * "Next best question" scoring over the in-memory catalog.
+ * Per-question features (pattern, difficulty, time, position in pattern) are
+ * precomputed into primitive arrays once per catalog snapshot; a request only
+ * loads the user's pattern stats and question statuses, scores every unsolved
+ * question in one pass and keeps the best K in a bounded min-heap.
+ */
+@Service
+public class QuestionRecommender {
+
+    public enum Reason {
+        IN_PROGRESS, WEAK_PATTERN, NEW_PATTERN, HIGH_IMPORTANCE, NEXT_IN_PATTERN
+    }
+
+    public record Recommendation(CatalogQuestion question, double score, Reason reason) {
+    }
+
+    // Score weights (sum to 1 before bonuses)
+    private static final double NEED_WEIGHT = 0.35;
+    private static final double IMPORTANCE_WEIGHT = 0.25;
+    private static final double DIFFICULTY_WEIGHT = 0.25;
+    private static final double TIME_WEIGHT = 0.15;
+    private static final double ORDER_BONUS = 0.05;
+    private static final double STARTED_BONUS = 0.1;
+
+    // Need of a pattern the user has not touched yet: new coverage ranks above
+    // a pattern that is going well, below one that is clearly weak
+    private static final double NEW_PATTERN_NEED = 0.7;
+
+    private static final byte NOT_STARTED = 0;
+    private static final byte STARTED = 1;
+    private static final byte DONE = 2;
+
+    /**
+     * Catalog features by question position and pattern index.
+     */
+    private record Features(long version, List<CatalogQuestion> questions, Map<UUID, Integer> patternIndex,
+            int[] questionPattern, int[] difficulty, double[] normalizedTime, double[] orderInPattern,
+            double[] patternImportance) {
+    }
+
+    private final QuestionCatalog questionCatalog;
+    private final UserPatternStatsRepository patternStatsRepository;
+    private final UserQuestionRepository userQuestionRepository;
+
+    private volatile Features features;
+
+    public QuestionRecommender(QuestionCatalog questionCatalog, UserPatternStatsRepository patternStatsRepository,
+            UserQuestionRepository userQuestionRepository) {
+        this.questionCatalog = questionCatalog;
+        this.patternStatsRepository = patternStatsRepository;
+        this.userQuestionRepository = userQuestionRepository;
+    }
+
+    /**
+     * The {@code limit} best unsolved questions for the user, best first.
+     */
+    public List<Recommendation> recommend(User user, int limit) {
+        QuestionCatalog.Snapshot snapshot = questionCatalog.snapshot();
+        Features f = features(snapshot);
+        int n = f.questions().size();
+        Instant now = Instant.now();
+
+        double[] need = new double[f.patternImportance().length];
+        boolean[] touched = new boolean[need.length];
+        Arrays.fill(need, NEW_PATTERN_NEED);
+        for (UserPatternStats stats : patternStatsRepository.findByUserId(user.getId())) {
+            Integer p = f.patternIndex().get(stats.getPattern().getId());
+            if (p != null && stats.getQuestionsAttempted() > 0) {
+                need[p] = weakness(stats, now);
+                touched[p] = true;
+            }
+        }
+
+        byte[] status = new byte[n];
+        for (Object[] row : userQuestionRepository.findQuestionStatusByUserId(user.getId())) {
+            Integer position = snapshot.positionsById().get((UUID) row[0]);
+            if (position != null) {
+                status[position] = row[1] == UserQuestion.Status.DONE ? DONE
+                        : row[1] == UserQuestion.Status.STARTED ? STARTED : NOT_STARTED;
+            }
+        }
+
+        // Far from ready (readiness days close to the target): easy, short questions.
+        // Close to ready: harder questions, and length matters less.
+        double target = user.getInterviewTargetDays() != null && user.getInterviewTargetDays() > 0
+                ? user.getInterviewTargetDays()
+                : 90.0;
+        double remaining = user.getCurrentReadinessDays() != null ? user.getCurrentReadinessDays() : target;
+        double progress = 1 - Math.min(1, Math.max(0, remaining / target));
+        double targetDifficulty = progress * 2;
+
+        int k = Math.min(limit, n);
+        int[] heapIndex = new int[k];
+        double[] heapScore = new double[k];
+        int size = 0;
+
+        for (int i = 0; i < n; i++) {
+            if (status[i] == DONE) {
+                continue;
+            }
+            int p = f.questionPattern()[i];
+            double score = NEED_WEIGHT * need[p]
+                    + IMPORTANCE_WEIGHT * f.patternImportance()[p]
+                    + DIFFICULTY_WEIGHT * (1 - Math.abs(f.difficulty()[i] - targetDifficulty) / 2)
+                    + TIME_WEIGHT * (1 - (1 - progress) * f.normalizedTime()[i])
+                    + ORDER_BONUS * f.orderInPattern()[i]
+                    + (status[i] == STARTED ? STARTED_BONUS : 0);
+
+            if (size < k) {
+                heapIndex[size] = i;
+                heapScore[size] = score;
+                siftUp(heapIndex, heapScore, size++);
+            } else if (k > 0 && score > heapScore[0]) {
+                heapIndex[0] = i;
+                heapScore[0] = score;
+                siftDown(heapIndex, heapScore, size);
+            }
+        }
+
+        // Drain the min-heap from the back so the best ends up first
+        Recommendation[] best = new Recommendation[size];
+        for (int last = size - 1; last >= 0; last--) {
+            int i = heapIndex[0];
+            int p = f.questionPattern()[i];
+            best[last] = new Recommendation(f.questions().get(i), heapScore[0],
+                    reason(status[i], touched[p], need[p], f.patternImportance()[p]));
+            heapIndex[0] = heapIndex[last];
+            heapScore[0] = heapScore[last];
+            siftDown(heapIndex, heapScore, last);
+        }
+        return List.of(best);
+    }
+
+    /**
+     * Same weakness measure as the readiness weak-pattern list: low completion,
+     * low confidence and time since practice, each in [0, 1].
+     */
+    private static double weakness(UserPatternStats stats, Instant now) {
+        double completionRate = (double) stats.getQuestionsCompleted() / stats.getQuestionsAttempted();
+        double confidenceFactor = (5.0 - stats.getAvgConfidence()) / 5.0;
+        double recencyFactor = stats.getLastPracticedAt() != null
+                ? Math.min(1.0, Duration.between(stats.getLastPracticedAt(), now).toDays() / 30.0)
+                : 1.0;
+        return (1 - completionRate) * 0.4 + confidenceFactor * 0.4 + recencyFactor * 0.2;
+    }
+
+    private static Reason reason(byte status, boolean touched, double need, double importance) {
+        if (status == STARTED) {
+            return Reason.IN_PROGRESS;
+        }
+        if (!touched) {
+            return Reason.NEW_PATTERN;
+        }
+        if (need >= 0.5) {
+            return Reason.WEAK_PATTERN;
+        }
+        return importance >= 0.8 ? Reason.HIGH_IMPORTANCE : Reason.NEXT_IN_PATTERN;
+    }
+
+    private static void siftUp(int[] index, double[] score, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (score[parent] <= score[i]) {
+                return;
+            }
+            swap(index, score, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] index, double[] score, int size) {
+        int i = 0;
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && score[left] < score[smallest]) {
+                smallest = left;
+            }
+            if (right < size && score[right] < score[smallest]) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            swap(index, score, i, smallest);
+            i = smallest;
+        }
+    }
+
+    private static void swap(int[] index, double[] score, int a, int b) {
+        int tmpIndex = index[a];
+        index[a] = index[b];
+        index[b] = tmpIndex;
+        double tmpScore = score[a];
+        score[a] = score[b];
+        score[b] = tmpScore;
+    }
+
+    private Features features(QuestionCatalog.Snapshot snapshot) {
+        Features current = features;
+        if (current == null || current.version() != snapshot.version()) {
+            synchronized (this) {
+                if (features == null || features.version() != snapshot.version()) {
+                    features = buildFeatures(snapshot);
+                }
+                current = features;
+            }
+        }
+        return current;
+    }
+
+    private static Features buildFeatures(QuestionCatalog.Snapshot snapshot) {
+        List<CatalogQuestion> questions = snapshot.questions();
+        List<CatalogPattern> patterns = new ArrayList<>(snapshot.patterns());
+        Map<UUID, Integer> patternIndex = new HashMap<>();
+        for (int p = 0; p < patterns.size(); p++) {
+            patternIndex.put(patterns.get(p).id(), p);
+        }
+
+        int n = questions.size();
+        int[] questionPattern = new int[n];
+        int[] difficulty = new int[n];
+        double[] normalizedTime = new double[n];
+        double[] orderInPattern = new double[n];
+        int minTime = Integer.MAX_VALUE;
+        int maxTime = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            CatalogQuestion q = questions.get(i);
+            questionPattern[i] = patternIndex.computeIfAbsent(q.pattern().id(), id -> {
+                patterns.add(q.pattern());
+                return patterns.size() - 1;
+            });
+            difficulty[i] = "Hard".equalsIgnoreCase(q.difficulty()) ? 2
+                    : "Medium".equalsIgnoreCase(q.difficulty()) ? 1 : 0;
+            minTime = Math.min(minTime, q.timeMinutes());
+            maxTime = Math.max(maxTime, q.timeMinutes());
+        }
+        for (int i = 0; i < n; i++) {
+            int t = questions.get(i).timeMinutes();
+            normalizedTime[i] = maxTime > minTime ? (double) (t - minTime) / (maxTime - minTime) : 0;
+        }
+
+        // Earlier questions of a pattern (catalog order) get the order bonus
+        int[] seen = new int[patterns.size()];
+        for (int i = 0; i < n; i++) {
+            int p = questionPattern[i];
+            int total = snapshot.questionsByPattern().getOrDefault(patterns.get(p).id(), List.of()).size();
+            orderInPattern[i] = total > 1 ? 1 - (double) seen[p]++ / (total - 1) : 1;
+        }
+
+        double[] importance = new double[patterns.size()];
+        int maxImportance = 1;
+        for (CatalogPattern pattern : patterns) {
+            maxImportance = Math.max(maxImportance, pattern.importanceWeight());
+        }
+        for (int p = 0; p < patterns.size(); p++) {
+            importance[p] = (double) patterns.get(p).importanceWeight() / maxImportance;
+        }
+
+        return new Features(snapshot.version(), questions, patternIndex, questionPattern, difficulty,
+                normalizedTime, orderInPattern, importance);
+    }
+}
@@ -0,0 +1,220 @@
+package com.rewind.service;
+
+import com.rewind.service.QuestionCatalog.CatalogQuestion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * In-memory search over the question catalog. Terms from question titles,
+ * pattern names, categories and mental models are indexed by trigram (for
+ * typo tolerance) and kept sorted (for prefix matches). The index is rebuilt
+ * from the catalog snapshot the first time a new snapshot version is searched.
+ */
+@Component
+@Slf4j
+public class QuestionSearchIndex {
+
+    public record Hit(CatalogQuestion question, double score) {
+    }
+
+    // Field weights: a title match counts most
+    private static final float TITLE = 3.0f;
+    private static final float PATTERN_NAME = 2.0f;
+    private static final float CATEGORY = 1.0f;
+    private static final float MENTAL_MODEL = 0.5f;
+
+    // Minimum trigram similarity for a fuzzy term match
+    private static final double MIN_SIMILARITY = 0.3;
+    private static final double PREFIX_SIMILARITY = 0.9;
+
+    private static final int[] NO_TERMS = new int[0];
+
+    /**
+     * Index over one snapshot. Terms are sorted; each term has postings of
+     * (question position, field weight), and each trigram lists term ids.
+     */
+    private record Index(long version, List<CatalogQuestion> questions, String[] terms, int[] termTrigramCount,
+            int[][] postingDocs, float[][] postingWeights, Map<String, int[]> trigramTerms) {
+    }
+
+    private final QuestionCatalog questionCatalog;
+
+    private volatile Index index;
+
+    public QuestionSearchIndex(QuestionCatalog questionCatalog) {
+        this.questionCatalog = questionCatalog;
+    }
+
+    /**
+     * Best-matching questions for {@code query}, highest score first.
+     */
+    public List<Hit> search(String query, int limit) {
+        Index current = current();
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        double[] scores = new double[current.questions().size()];
+        double[] termBest = new double[scores.length];
+        for (String queryTerm : queryTerms) {
+            Arrays.fill(termBest, 0);
+            for (Map.Entry<Integer, Double> match : matchTerms(current, queryTerm).entrySet()) {
+                int term = match.getKey();
+                double similarity = match.getValue();
+                int[] docs = current.postingDocs()[term];
+                float[] weights = current.postingWeights()[term];
+                for (int i = 0; i < docs.length; i++) {
+                    // Each query term counts once per question, through its best field
+                    termBest[docs[i]] = Math.max(termBest[docs[i]], similarity * weights[i]);
+                }
+            }
+            for (int doc = 0; doc < scores.length; doc++) {
+                scores[doc] += termBest[doc];
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (int doc = 0; doc < scores.length; doc++) {
+            if (scores[doc] > 0) {
+                hits.add(new Hit(current.questions().get(doc), scores[doc]));
+            }
+        }
+        // Ties keep catalog (order_index) order
+        hits.sort((a, b) -> Double.compare(b.score(), a.score()));
+        return hits.size() > limit ? hits.subList(0, limit) : hits;
+    }
+
+    /**
+     * Indexed terms similar to {@code queryTerm}, with their similarity: prefix
+     * matches from the sorted term list, fuzzy matches by shared trigrams
+     * (Jaccard over trigram sets).
+     */
+    private Map<Integer, Double> matchTerms(Index index, String queryTerm) {
+        Map<Integer, Double> matches = new HashMap<>();
+
+        int from = Arrays.binarySearch(index.terms(), queryTerm);
+        for (int t = from >= 0 ? from : -from - 1; t < index.terms().length
+                && index.terms()[t].startsWith(queryTerm); t++) {
+            matches.put(t, index.terms()[t].length() == queryTerm.length() ? 1.0 : PREFIX_SIMILARITY);
+        }
+
+        String[] queryTrigrams = trigrams(queryTerm);
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            for (int term : index.trigramTerms().getOrDefault(trigram, NO_TERMS)) {
+                shared.merge(term, 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<Integer, Integer> entry : shared.entrySet()) {
+            int term = entry.getKey();
+            int common = entry.getValue();
+            double similarity = (double) common
+                    / (queryTrigrams.length + index.termTrigramCount()[term] - common);
+            if (similarity >= MIN_SIMILARITY) {
+                matches.merge(term, similarity, Math::max);
+            }
+        }
+        return matches;
+    }
+
+    private Index current() {
+        QuestionCatalog.Snapshot snapshot = questionCatalog.snapshot();
+        Index current = index;
+        if (current == null || current.version() != snapshot.version()) {
+            synchronized (this) {
+                if (index == null || index.version() != snapshot.version()) {
+                    index = build(snapshot);
+                }
+                current = index;
+            }
+        }
+        return current;
+    }
+
+    private Index build(QuestionCatalog.Snapshot snapshot) {
+        long startedAt = System.nanoTime();
+        List<CatalogQuestion> questions = snapshot.questions();
+
+        // term -> (question position -> best field weight)
+        Map<String, Map<Integer, Float>> postings = new HashMap<>();
+        for (int doc = 0; doc < questions.size(); doc++) {
+            CatalogQuestion q = questions.get(doc);
+            addField(postings, doc, q.title(), TITLE);
+            addField(postings, doc, q.pattern().name(), PATTERN_NAME);
+            addField(postings, doc, q.pattern().category(), CATEGORY);
+            addField(postings, doc, q.pattern().shortMentalModel(), MENTAL_MODEL);
+        }
+
+        String[] terms = new TreeSet<>(postings.keySet()).toArray(new String[0]);
+        int[] trigramCount = new int[terms.length];
+        int[][] postingDocs = new int[terms.length][];
+        float[][] postingWeights = new float[terms.length][];
+        Map<String, List<Integer>> trigramLists = new HashMap<>();
+        for (int t = 0; t < terms.length; t++) {
+            Map<Integer, Float> termPostings = postings.get(terms[t]);
+            postingDocs[t] = new int[termPostings.size()];
+            postingWeights[t] = new float[termPostings.size()];
+            int i = 0;
+            for (Map.Entry<Integer, Float> posting : termPostings.entrySet()) {
+                postingDocs[t][i] = posting.getKey();
+                postingWeights[t][i] = posting.getValue();
+                i++;
+            }
+
+            String[] trigrams = trigrams(terms[t]);
+            trigramCount[t] = trigrams.length;
+            for (String trigram : trigrams) {
+                trigramLists.computeIfAbsent(trigram, k -> new ArrayList<>()).add(t);
+            }
+        }
+
+        Map<String, int[]> trigramTerms = new HashMap<>();
+        for (Map.Entry<String, List<Integer>> entry : trigramLists.entrySet()) {
+            trigramTerms.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        log.info("Built search index for catalog v{}: {} terms, {} trigrams in {}ms", snapshot.version(),
+                terms.length, trigramTerms.size(), (System.nanoTime() - startedAt) / 1_000_000);
+        return new Index(snapshot.version(), questions, terms, trigramCount, postingDocs, postingWeights,
+                trigramTerms);
+    }
+
+    private static void addField(Map<String, Map<Integer, Float>> postings, int doc, String text, float weight) {
+        for (String term : tokenize(text)) {
+            postings.computeIfAbsent(term, k -> new LinkedHashMap<>()).merge(doc, weight, Math::max);
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String term : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    // Distinct trigrams of the term padded like pg_trgm: two spaces before, one after
+    private static String[] trigrams(String term) {
+        String padded = "  " + term + " ";
+        TreeSet<String> trigrams = new TreeSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams.toArray(new String[0]);
+    }
+}
@@ -6,20 +6,17 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.time.LocalDate;
 
 @Service
 @RequiredArgsConstructor
 public class ReadinessService {
 
     private final UserRepository userRepository;
-    private final UserQuestionRepository userQuestionRepository;
-    private final QuestionRepository questionRepository;
+    private final QuestionCatalog questionCatalog;
     private final UserPatternStatsRepository patternStatsRepository;
-    private final ReadinessEventRepository readinessEventRepository;
     private final ReadinessSnapshotRepository snapshotRepository;
-    private final RevisionScheduleRepository revisionScheduleRepository;
+    private final ProgressCounterService progressCounterService;
 
     // Base day reduction values
     private static final double EASY_BASE = 0.28;
@@ -59,19 +56,11 @@ public class ReadinessService {
         // Final calculation - use round, not ceil, but ensure at least some progress
         // for Hard questions
         double daysReduced = baseValue * difficultyMultiplier * patternWeight * paceBonus;
-        // Update user's readiness (allow fractional days)
-        double newDays = Math.max(0, user.getCurrentReadinessDays() - daysReduced);
-        // Round to 2 decimal places for storage/display stability if needed, or keep
-        // precision
-        newDays = Math.round(newDays * 100.0) / 100.0;
 
-        user.setCurrentReadinessDays(newDays);
-        userRepository.save(user);
-
-        // Record event
-        // Use negative delta for reduction, rounded to 2 decimal places
+        // Update user's readiness (fractional days, rounded to 2 decimals) and record
+        // the event with a negative delta, rounded to 2 decimal places
         double roundedDelta = Math.round(daysReduced * 100.0) / 100.0;
-        recordEvent(user, -roundedDelta,
+        double newDays = applyReduction(user, daysReduced, -roundedDelta,
                 "Completed '" + question.getTitle() + "' (" + question.getDifficulty() + ")",
                 question);
 
@@ -92,16 +81,9 @@ public class ReadinessService {
             default -> REVISION_EASY_BONUS;
         };
 
-        // Use bonus directly
-        double newDays = Math.max(0, user.getCurrentReadinessDays() - bonus);
-        newDays = Math.round(newDays * 100.0) / 100.0;
-
-        user.setCurrentReadinessDays(newDays);
-        userRepository.save(user);
-
-        // Record event with rounded delta
+        // Use bonus directly; event with rounded delta
         double roundedBonus = Math.round(bonus * 100.0) / 100.0;
-        recordEvent(user, -roundedBonus,
+        double newDays = applyReduction(user, bonus, -roundedBonus,
                 "Revised '" + question.getTitle() + "'",
                 question);
 
@@ -110,18 +92,20 @@ public class ReadinessService {
 
     /**
      * Get current readiness breakdown for a user.
+     * User counters come from the maintained progress counters row.
      */
     public ReadinessBreakdown getBreakdown(User user) {
-        long total = questionRepository.count();
-        long completed = userQuestionRepository.countCompletedByUserId(user.getId());
-        long easyComplete = userQuestionRepository.countCompletedByDifficulty(user.getId(), "Easy");
-        long mediumComplete = userQuestionRepository.countCompletedByDifficulty(user.getId(), "Medium");
-        long hardComplete = userQuestionRepository.countCompletedByDifficulty(user.getId(), "Hard");
-        long revisionsComplete = revisionScheduleRepository.countCompletedByUserId(user.getId());
+        UserProgressCounters counters = progressCounterService.getCounters(user);
+
+        long total = questionCatalog.questionCount();
+        long completed = counters.getCompletedTotal();
+        long easyComplete = counters.getCompletedEasy();
+        long mediumComplete = counters.getCompletedMedium();
+        long hardComplete = counters.getCompletedHard();
+        long revisionsComplete = counters.getRevisionsCompleted();
 
-        // Calculate trend based on recent activity
-        Instant weekAgo = Instant.now().minus(7, ChronoUnit.DAYS);
-        long recentCompletions = userQuestionRepository.countCompletedSince(user.getId(), weekAgo);
+        // Trend is based on completions within the last week
+        long recentCompletions = counters.completionsInLastWeek(LocalDate.now(user.zoneId()));
 
         String trend = recentCompletions > 7 ? "IMPROVING"
                 : recentCompletions > 3 ? "STABLE"
@@ -137,7 +121,7 @@ public class ReadinessService {
                 .hardComplete((int) hardComplete)
                 .revisionsComplete((int) revisionsComplete)
                 .trend(trend)
-                .percentComplete((int) ((completed * 100) / total))
+                .percentComplete(total > 0 ? (int) ((completed * 100) / total) : 0)
                 .build();
     }
 
@@ -160,7 +144,7 @@ public class ReadinessService {
     }
 
     private double calculatePatternWeight(User user, Pattern pattern) {
-        long totalForPattern = questionRepository.countByPatternId(pattern.getId());
+        long totalForPattern = questionCatalog.patternTotal(pattern.getId());
         var stats = patternStatsRepository.findByUserIdAndPatternId(user.getId(), pattern.getId());
 
         if (stats.isEmpty() || totalForPattern == 0) {
@@ -177,8 +161,8 @@ public class ReadinessService {
     }
 
     private double calculatePaceBonus(User user) {
-        Instant weekAgo = Instant.now().minus(7, ChronoUnit.DAYS);
-        long questionsThisWeek = userQuestionRepository.countCompletedSince(user.getId(), weekAgo);
+        long questionsThisWeek = progressCounterService.getCounters(user)
+                .completionsInLastWeek(LocalDate.now(user.zoneId()));
         double avgPerDay = questionsThisWeek / 7.0;
 
         if (avgPerDay > 2)
@@ -188,14 +172,20 @@ public class ReadinessService {
         return 1.0;
     }
 
-    private void recordEvent(User user, double deltaDays, String reason, Question relatedQuestion) {
-        ReadinessEvent event = ReadinessEvent.builder()
-                .user(user)
-                .changeDeltaDays(deltaDays)
-                .reason(reason)
-                .relatedQuestion(relatedQuestion)
-                .build();
-        readinessEventRepository.save(event);
+    /**
+     * Atomic readiness update plus event insert (one statement, no read of the
+     * possibly stale principal). The principal is updated with the result so the
+     * rest of the request sees the new value.
+     */
+    private double applyReduction(User user, double reduction, double eventDelta, String reason,
+            Question relatedQuestion) {
+        Double newDays = userRepository.applyReadinessReduction(user.getId(), reduction, eventDelta, reason,
+                relatedQuestion != null ? relatedQuestion.getId() : null);
+        if (newDays == null) {
+            throw new IllegalArgumentException("User not found");
+        }
+        user.setCurrentReadinessDays(newDays);
+        return newDays;
     }
 
     // Result classes
@@ -0,0 +1,221 @@
+package com.rewind.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Nightly precomputation of the revision queue, so GET /revisions/today only
+ * has to read pending schedules.
+ * Users with questions coming due today are walked in keyset-paginated chunks
+ * (ORDER BY id); each chunk is selected with one set-based query (top N per
+ * user by forgetting risk via ROW_NUMBER) and its schedules are written with a
+ * JDBC batch insert. Chunks run in parallel on a small pool. A row in
+ * scheduled_job_runs acts as a run lock across instances and records when the
+ * queue was last built.
+ * Days are counted in revision.batch.day-zone (IST by default): the run at
+ * 02:00 IST builds the queue for that IST day, and /today falls back to
+ * inline generation only until it has completed.
+ * Not lazy: with spring.main.lazy-initialization the scheduled method would
+ * otherwise never be registered.
+ */
+@Component
+@Lazy(false)
+@Slf4j
+public class RevisionQueueBatchJob {
+
+    static final String JOB_NAME = "revision-queue";
+
+    // Users with at least one question due before the horizon (index on user_id, srs_due_at)
+    private static final String DUE_USERS_SQL = "SELECT u.id FROM users u " +
+            "WHERE u.id > :after " +
+            "AND EXISTS (SELECT 1 FROM user_questions uq WHERE uq.user_id = u.id AND uq.srs_due_at < :horizon) " +
+            "ORDER BY u.id LIMIT :limit";
+
+    // Same selection as RevisionScheduleRepository.findDueForReview, for a whole
+    // chunk of users and everything due before the end of the day. Users that
+    // already have due revisions are skipped, like the inline generation in
+    // GET /revisions/today.
+    private static final String CHUNK_DUE_SQL = "WITH due AS (" +
+            "  SELECT uq.user_id, uq.id AS user_question_id, q.pattern_id, " +
+            "    GREATEST(uq.srs_due_at, CAST(:now AS timestamptz)) AS scheduled_at, " +
+            "    CAST(1 - POWER(1 + (19.0 / 81.0) * GREATEST(EXTRACT(EPOCH FROM (CAST(:horizon AS timestamptz) - uq.srs_last_review_at)) / 86400, 0) " +
+            "      / uq.srs_stability, -0.5) AS double precision) AS risk, " +
+            "    CASE WHEN uq.confidence_score <= 2 THEN 'LOW_CONFIDENCE' ELSE 'TIME_DECAY' END AS reason " +
+            "  FROM user_questions uq " +
+            "  JOIN questions q ON q.id = uq.question_id " +
+            "  WHERE uq.user_id IN (:userIds) AND uq.srs_due_at < :horizon " +
+            "    AND NOT EXISTS (SELECT 1 FROM revision_schedules rs " +
+            "                    WHERE rs.user_question_id = uq.id AND rs.completed_at IS NULL) " +
+            "    AND NOT EXISTS (SELECT 1 FROM revision_schedules pending WHERE pending.user_id = uq.user_id " +
+            "                    AND pending.completed_at IS NULL AND pending.scheduled_at <= :now)" +
+            "), ranked AS (" +
+            "  SELECT due.*, ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY risk DESC) AS rank FROM due" +
+            ") " +
+            "SELECT user_id, user_question_id, pattern_id, scheduled_at, risk, reason " +
+            "FROM ranked WHERE rank <= :limit";
+
+    // Guarded so a concurrent inline generation cannot create a second pending row
+    private static final String INSERT_SCHEDULE_SQL = "INSERT INTO revision_schedules " +
+            "(user_id, user_question_id, pattern_id, scheduled_at, reason, priority_score) " +
+            "SELECT ?, ?, ?, ?, ?, ? " +
+            "WHERE NOT EXISTS (SELECT 1 FROM revision_schedules WHERE user_question_id = ? AND completed_at IS NULL)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${revision.batch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${revision.batch.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${revision.batch.parallelism:4}")
+    private int parallelism;
+
+    // A run that started longer ago than this is assumed dead and may be taken over
+    @Value("${revision.batch.lock-timeout:2h}")
+    private Duration lockTimeout;
+
+    // Zone whose calendar day the batch covers; the cron runs shortly after its midnight
+    @Value("${revision.batch.day-zone:Asia/Kolkata}")
+    private ZoneId dayZone;
+
+    // Cached result of the last-run lookup used on the /today path
+    private volatile LocalDate lastCompletedDay;
+    private volatile long lastCompletedCheckedAt;
+
+    public RevisionQueueBatchJob(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+            TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(cron = "${revision.batch.cron:0 30 20 * * *}", zone = "UTC")
+    public void buildQueues() {
+        if (!enabled) {
+            return;
+        }
+        Instant now = Instant.now();
+        if (!tryLock(now)) {
+            log.info("Revision queue batch already running elsewhere, skipping");
+            return;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        int users = 0;
+        int schedules = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            // Everything that comes due before the end of the batch day
+            Instant horizon = LocalDate.now(dayZone).plusDays(1).atStartOfDay(dayZone).toInstant();
+            List<Future<Integer>> chunks = new ArrayList<>();
+            // Keyset pagination starts at the nil UUID
+            List<UUID> chunk = nextUserChunk(new UUID(0, 0), horizon);
+            while (!chunk.isEmpty()) {
+                users += chunk.size();
+                List<UUID> userIds = chunk;
+                chunks.add(executor.submit(() -> processChunk(userIds, now, horizon)));
+                chunk = chunk.size() < chunkSize ? List.of() : nextUserChunk(chunk.get(chunk.size() - 1), horizon);
+            }
+            for (Future<Integer> result : chunks) {
+                schedules += result.get();
+            }
+
+            jdbcTemplate.update("UPDATE scheduled_job_runs SET last_completed_at = ?, last_processed_users = ? " +
+                    "WHERE job_name = ?", Timestamp.from(now), users, JOB_NAME);
+            lastCompletedCheckedAt = 0;
+            log.info("Revision queue batch: {} users, {} schedules in {}ms", users, schedules,
+                    System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            log.error("Revision queue batch failed after {} users", users, e);
+        } finally {
+            executor.shutdownNow();
+            jdbcTemplate.update("UPDATE scheduled_job_runs SET last_started_at = NULL WHERE job_name = ?", JOB_NAME);
+        }
+    }
+
+    /**
+     * True once the current batch day's run has completed; the /today endpoint
+     * then only reads pending schedules instead of generating them inline.
+     */
+    public boolean hasCompletedToday() {
+        LocalDate today = LocalDate.now(dayZone);
+        if (System.currentTimeMillis() - lastCompletedCheckedAt > 60_000) {
+            List<Timestamp> completed = jdbcTemplate.queryForList(
+                    "SELECT last_completed_at FROM scheduled_job_runs WHERE job_name = ?", Timestamp.class,
+                    JOB_NAME);
+            Timestamp last = completed.isEmpty() ? null : completed.get(0);
+            lastCompletedDay = last != null ? last.toInstant().atZone(dayZone).toLocalDate() : null;
+            lastCompletedCheckedAt = System.currentTimeMillis();
+        }
+        return today.equals(lastCompletedDay);
+    }
+
+    private boolean tryLock(Instant now) {
+        return jdbcTemplate.update("UPDATE scheduled_job_runs SET last_started_at = ? WHERE job_name = ? " +
+                "AND (last_started_at IS NULL OR last_started_at < ?)",
+                Timestamp.from(now), JOB_NAME, Timestamp.from(now.minus(lockTimeout))) == 1;
+    }
+
+    private List<UUID> nextUserChunk(UUID after, Instant horizon) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("after", after)
+                .addValue("horizon", Timestamp.from(horizon))
+                .addValue("limit", chunkSize);
+        return namedJdbcTemplate.queryForList(DUE_USERS_SQL, params, UUID.class);
+    }
+
+    private int processChunk(List<UUID> userIds, Instant now, Instant horizon) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userIds", userIds)
+                .addValue("now", Timestamp.from(now))
+                .addValue("horizon", Timestamp.from(horizon))
+                .addValue("limit", RevisionService.MAX_DAILY_REVISIONS);
+
+        Integer inserted = transactionTemplate.execute(status -> {
+            List<Object[]> rows = namedJdbcTemplate.query(CHUNK_DUE_SQL, params, (rs, rowNum) -> {
+                UUID userQuestionId = rs.getObject("user_question_id", UUID.class);
+                return new Object[] {
+                        rs.getObject("user_id", UUID.class),
+                        userQuestionId,
+                        rs.getObject("pattern_id", UUID.class),
+                        rs.getTimestamp("scheduled_at"),
+                        rs.getString("reason"),
+                        rs.getDouble("risk"),
+                        userQuestionId
+                };
+            });
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            int count = 0;
+            for (int updated : jdbcTemplate.batchUpdate(INSERT_SCHEDULE_SQL, rows)) {
+                // SUCCESS_NO_INFO (-2) is reported by some drivers for batched statements
+                count += updated == -2 ? 1 : updated;
+            }
+            return count;
+        });
+        return inserted != null ? inserted : 0;
+    }
+}
@@ -7,9 +7,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,41 +21,41 @@ public class RevisionService {
     private final UserQuestionRepository userQuestionRepository;
     private final RevisionScheduleRepository revisionScheduleRepository;
     private final RevisionSessionRepository revisionSessionRepository;
-    private final UserPatternStatsRepository patternStatsRepository;
     private final ExplanationRecordingRepository recordingRepository;
-    private final QuestionRepository questionRepository;
+    private final SpacedRepetitionEngine spacedRepetitionEngine;
+    private final ProgressCounterService progressCounterService;
 
-    // Priority weights
-    private static final double LOW_CONFIDENCE_WEIGHT = 0.4;
-    private static final double TIME_DECAY_WEIGHT = 0.3;
-    private static final double PATTERN_WEAKNESS_WEIGHT = 0.2;
-
-    // Thresholds
-    private static final double PRIORITY_THRESHOLD = 0.3;
-    private static final int MAX_DAILY_REVISIONS = 5;
-    private static final int TIME_DECAY_START_DAYS = 7;
+    // Upper bound on revisions materialized per day (also used by RevisionQueueBatchJob)
+    static final int MAX_DAILY_REVISIONS = 5;
 
     /**
      * Generate daily revision queue for a user.
-     * Prioritizes questions based on:
-     * 1. Low confidence score
-     * 2. Time since last practice
-     * 3. Pattern weakness
+     * Picks questions whose spaced-repetition due date has passed, most likely
+     * forgotten first. Index range scan on due_at; only the selected questions
+     * are loaded.
      */
     @Transactional
     public List<RevisionSchedule> generateDailyQueue(User user) {
-        // Get all completed questions without pending revisions
-        List<UserQuestion> completedQuestions = userQuestionRepository
-                .findCompletedByUserId(user.getId());
-
-        return completedQuestions.stream()
-                .filter(uq -> !revisionScheduleRepository.existsByUserQuestionIdAndCompletedAtIsNull(uq.getId()))
-                .map(uq -> calculatePriority(user, uq))
-                .filter(candidate -> candidate.priorityScore > PRIORITY_THRESHOLD)
-                .sorted(Comparator.comparing(RevisionCandidate::priorityScore).reversed())
-                .limit(MAX_DAILY_REVISIONS)
-                .map(candidate -> createSchedule(user, candidate))
+        List<RevisionScheduleRepository.DueReview> candidates = revisionScheduleRepository
+                .findDueForReview(user.getId(), Instant.now(), MAX_DAILY_REVISIONS);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        // Question and pattern are needed for the schedule and the response
+        Map<UUID, UserQuestion> userQuestions = userQuestionRepository
+                .findAllByIdWithQuestionAndPattern(candidates.stream()
+                        .map(RevisionScheduleRepository.DueReview::getUserQuestionId)
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(UserQuestion::getId, Function.identity()));
+
+        List<RevisionSchedule> schedules = candidates.stream()
+                .filter(candidate -> userQuestions.containsKey(candidate.getUserQuestionId()))
+                .map(candidate -> createSchedule(user, userQuestions.get(candidate.getUserQuestionId()), candidate))
                 .collect(Collectors.toList());
+
+        return revisionScheduleRepository.saveAll(schedules);
     }
 
     /**
@@ -71,24 +73,58 @@ public class RevisionService {
     }
 
     /**
-     * Complete a revision session.
+     * Complete a pending revision of the user.
+     * The review outcome (new confidence, or the current one if not given)
+     * updates the question's spaced-repetition state and next due date.
+     * Returns empty when the revision is not pending for this user, including
+     * when a concurrent submission completed it first.
      */
     @Transactional
-    public RevisionSession completeRevision(
-            RevisionSchedule schedule,
+    public Optional<RevisionSession> completeRevision(
+            User user,
+            UUID scheduleId,
             int listenedVersion,
             boolean rerecorded,
             Integer newConfidenceScore) {
-        // Mark schedule as completed
-        schedule.markCompleted();
-        revisionScheduleRepository.save(schedule);
+        return completeRevision(user, scheduleId, listenedVersion, rerecorded, newConfidenceScore, Instant.now());
+    }
+
+    /**
+     * Complete a pending revision that was done at the given time (offline sync).
+     */
+    @Transactional
+    public Optional<RevisionSession> completeRevision(
+            User user,
+            UUID scheduleId,
+            int listenedVersion,
+            boolean rerecorded,
+            Integer newConfidenceScore,
+            Instant completedAt) {
+        // Ownership and pending state are checked in the query
+        RevisionSchedule schedule = revisionScheduleRepository
+                .findPendingByIdAndUserId(scheduleId, user.getId())
+                .orElse(null);
+        if (schedule == null) {
+            return Optional.empty();
+        }
+
+        // Atomic: a double submit that passed the lookup loses here
+        if (revisionScheduleRepository.markCompletedIfPending(scheduleId, completedAt) == 0) {
+            return Optional.empty();
+        }
+        progressCounterService.recordRevisionCompleted(user);
+
+        // Fetched with the schedule, so this is the managed instance
+        UserQuestion uq = schedule.getUserQuestion();
 
         // Update user question confidence if provided
         if (newConfidenceScore != null) {
-            UserQuestion uq = schedule.getUserQuestion();
             uq.setConfidenceScore(newConfidenceScore);
-            userQuestionRepository.save(uq);
         }
+        spacedRepetitionEngine.review(uq,
+                SpacedRepetitionEngine.ratingForConfidence(
+                        newConfidenceScore != null ? newConfidenceScore : uq.getConfidenceScore()),
+                completedAt);
 
         // Create session record
         RevisionSession session = RevisionSession.builder()
@@ -98,7 +134,15 @@ public class RevisionService {
                 .newConfidenceScore(newConfidenceScore)
                 .build();
 
-        return revisionSessionRepository.save(session);
+        return Optional.of(revisionSessionRepository.save(session));
+    }
+
+    /**
+     * Whether the revision exists for the user at all (used to tell an already
+     * completed revision from a missing one).
+     */
+    public boolean revisionExists(User user, UUID scheduleId) {
+        return revisionScheduleRepository.existsByIdAndUserId(scheduleId, user.getId());
     }
 
     /**
@@ -114,8 +158,8 @@ public class RevisionService {
             return existingSchedule.get();
         }
 
-        // Schedule first revision immediately (same day as completion)
-        Instant scheduledAt = Instant.now();
+        // First revision when the spaced-repetition state says it is due
+        Instant scheduledAt = userQuestion.getSrsDueAt() != null ? userQuestion.getSrsDueAt() : Instant.now();
 
         RevisionSchedule.Reason reason = userQuestion.getConfidenceScore() != null
                 && userQuestion.getConfidenceScore() <= 2
@@ -134,72 +178,15 @@ public class RevisionService {
         return revisionScheduleRepository.save(schedule);
     }
 
-    private RevisionCandidate calculatePriority(User user, UserQuestion uq) {
-        double score = 0.0;
-        RevisionSchedule.Reason primaryReason = null;
-
-        // 1. Low confidence factor (0.25 - 1.0)
-        if (uq.getConfidenceScore() != null && uq.getConfidenceScore() <= 2) {
-            double factor = (5 - uq.getConfidenceScore()) / 4.0;
-            score += LOW_CONFIDENCE_WEIGHT * factor;
-            primaryReason = RevisionSchedule.Reason.LOW_CONFIDENCE;
-        }
-
-        // 2. Time decay factor (0 - 1.0)
-        long daysSinceDone = uq.getDoneAt() != null
-                ? ChronoUnit.DAYS.between(uq.getDoneAt(), Instant.now())
-                : 0;
-
-        if (daysSinceDone > TIME_DECAY_START_DAYS) {
-            double factor = Math.min(daysSinceDone / 30.0, 1.0);
-            score += TIME_DECAY_WEIGHT * factor;
-            if (primaryReason == null)
-                primaryReason = RevisionSchedule.Reason.TIME_DECAY;
-        }
-
-        // 3. Pattern weakness factor (0 - 0.6)
-        Pattern pattern = uq.getQuestion().getPattern();
-        long totalForPattern = questionRepository.countByPatternId(pattern.getId());
-        var stats = patternStatsRepository.findByUserIdAndPatternId(user.getId(), pattern.getId());
-
-        if (totalForPattern > 0) {
-            double completionRate = stats.map(s -> s.getQuestionsCompleted() / (double) totalForPattern)
-                    .orElse(0.0);
-            if (completionRate < 0.5) {
-                score += PATTERN_WEAKNESS_WEIGHT * (1 - completionRate);
-                if (primaryReason == null)
-                    primaryReason = RevisionSchedule.Reason.PATTERN_WEAKNESS;
-            }
-        }
-
-        // 4. Recency decay (multiplier for older items)
-        double recencyDecay = 1 + (daysSinceDone / 60.0);
-        score *= recencyDecay;
-
-        return new RevisionCandidate(
-                uq,
-                score,
-                primaryReason != null ? primaryReason : RevisionSchedule.Reason.TIME_DECAY,
-                daysSinceDone);
-    }
-
-    private RevisionSchedule createSchedule(User user, RevisionCandidate candidate) {
-        RevisionSchedule schedule = RevisionSchedule.builder()
+    private RevisionSchedule createSchedule(User user, UserQuestion userQuestion,
+            RevisionScheduleRepository.DueReview candidate) {
+        return RevisionSchedule.builder()
                 .user(user)
-                .userQuestion(candidate.userQuestion)
-                .pattern(candidate.userQuestion.getQuestion().getPattern())
+                .userQuestion(userQuestion)
+                .pattern(userQuestion.getQuestion().getPattern())
                 .scheduledAt(Instant.now())
-                .reason(candidate.reason)
-                .priorityScore(candidate.priorityScore)
+                .reason(RevisionSchedule.Reason.valueOf(candidate.getReason()))
+                .priorityScore(candidate.getForgettingRisk())
                 .build();
-
-        return revisionScheduleRepository.save(schedule);
-    }
-
-    private record RevisionCandidate(
-            UserQuestion userQuestion,
-            double priorityScore,
-            RevisionSchedule.Reason reason,
-            long daysSinceLastPractice) {
     }
 }
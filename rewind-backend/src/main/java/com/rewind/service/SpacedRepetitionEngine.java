@@ -0,0 +1,156 @@
+package com.rewind.service;
+
+import com.rewind.model.UserQuestion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * FSRS-4.5 spaced-repetition scheduler.
+ * Each solved question carries a memory state (stability in days, difficulty
+ * 1-10, last review, due date) on user_questions. A review updates that state
+ * in O(1) from the rating and the time since the last review, and sets the next
+ * due date so that predicted recall has dropped to the desired retention.
+ */
+@Component
+public class SpacedRepetitionEngine {
+
+    public enum Rating {
+        AGAIN(1), HARD(2), GOOD(3), EASY(4);
+
+        private final int grade;
+
+        Rating(int grade) {
+            this.grade = grade;
+        }
+
+        public int grade() {
+            return grade;
+        }
+    }
+
+    // FSRS-4.5 default parameters
+    private static final double[] W = {
+            0.4872, 1.4003, 3.7145, 13.8206, 5.1618, 1.2298, 0.8975, 0.031, 1.6474,
+            0.1367, 1.0461, 2.1072, 0.0793, 0.3246, 1.587, 0.2272, 2.8755 };
+
+    private static final double DECAY = -0.5;
+    private static final double FACTOR = 19.0 / 81.0;
+
+    @Value("${revision.srs.desired-retention:0.9}")
+    private double desiredRetention;
+
+    @Value("${revision.srs.maximum-interval-days:365}")
+    private int maximumIntervalDays;
+
+    /**
+     * Map the 1-5 confidence score used across the app to an FSRS rating.
+     * No score is treated as a normal successful recall.
+     */
+    public static Rating ratingForConfidence(Integer confidence) {
+        if (confidence == null) {
+            return Rating.GOOD;
+        }
+        if (confidence <= 1) {
+            return Rating.AGAIN;
+        }
+        if (confidence == 2) {
+            return Rating.HARD;
+        }
+        return confidence >= 5 ? Rating.EASY : Rating.GOOD;
+    }
+
+    /**
+     * Apply a review to the question's memory state and schedule the next one.
+     * The first review (question completion) initializes the state.
+     */
+    public void review(UserQuestion userQuestion, Rating rating, Instant reviewedAt) {
+        double stability;
+        double difficulty;
+
+        if (userQuestion.getSrsStability() == null || userQuestion.getSrsLastReviewAt() == null) {
+            stability = initialStability(rating);
+            difficulty = initialDifficulty(rating);
+        } else {
+            double previousStability = userQuestion.getSrsStability();
+            double previousDifficulty = userQuestion.getSrsDifficulty() != null
+                    ? userQuestion.getSrsDifficulty()
+                    : initialDifficulty(Rating.GOOD);
+            double retrievability = retrievability(elapsedDays(userQuestion.getSrsLastReviewAt(), reviewedAt),
+                    previousStability);
+
+            difficulty = nextDifficulty(previousDifficulty, rating);
+            stability = rating == Rating.AGAIN
+                    ? forgetStability(previousDifficulty, previousStability, retrievability)
+                    : recallStability(previousDifficulty, previousStability, retrievability, rating);
+        }
+
+        userQuestion.setSrsStability(stability);
+        userQuestion.setSrsDifficulty(difficulty);
+        userQuestion.setSrsLastReviewAt(reviewedAt);
+        userQuestion.setSrsDueAt(reviewedAt.plus(intervalDays(stability), ChronoUnit.DAYS));
+        userQuestion.setSrsReps(userQuestion.getSrsReps() + 1);
+        if (rating == Rating.AGAIN) {
+            userQuestion.setSrsLapses(userQuestion.getSrsLapses() + 1);
+        }
+    }
+
+    /**
+     * Predicted probability of recall at the given time, or 1 when the question
+     * has no memory state yet.
+     */
+    public double retrievability(UserQuestion userQuestion, Instant at) {
+        if (userQuestion.getSrsStability() == null || userQuestion.getSrsLastReviewAt() == null) {
+            return 1.0;
+        }
+        return retrievability(elapsedDays(userQuestion.getSrsLastReviewAt(), at), userQuestion.getSrsStability());
+    }
+
+    private double retrievability(double elapsedDays, double stability) {
+        return Math.pow(1 + FACTOR * elapsedDays / stability, DECAY);
+    }
+
+    private long intervalDays(double stability) {
+        double interval = stability / FACTOR * (Math.pow(desiredRetention, 1 / DECAY) - 1);
+        return Math.min(maximumIntervalDays, Math.max(1, Math.round(interval)));
+    }
+
+    private double initialStability(Rating rating) {
+        return Math.max(W[rating.grade() - 1], 0.1);
+    }
+
+    private double initialDifficulty(Rating rating) {
+        return clampDifficulty(W[4] - (rating.grade() - 3) * W[5]);
+    }
+
+    private double nextDifficulty(double difficulty, Rating rating) {
+        double next = difficulty - W[6] * (rating.grade() - 3);
+        // Mean reversion towards the initial difficulty of a "Good" rating
+        return clampDifficulty(W[7] * initialDifficulty(Rating.GOOD) + (1 - W[7]) * next);
+    }
+
+    private double recallStability(double difficulty, double stability, double retrievability, Rating rating) {
+        double hardPenalty = rating == Rating.HARD ? W[15] : 1;
+        double easyBonus = rating == Rating.EASY ? W[16] : 1;
+        return stability * (1 + Math.exp(W[8]) * (11 - difficulty) * Math.pow(stability, -W[9])
+                * (Math.exp((1 - retrievability) * W[10]) - 1) * hardPenalty * easyBonus);
+    }
+
+    private double forgetStability(double difficulty, double stability, double retrievability) {
+        double next = W[11] * Math.pow(difficulty, -W[12]) * (Math.pow(stability + 1, W[13]) - 1)
+                * Math.exp((1 - retrievability) * W[14]);
+        // Forgetting never increases stability
+        return Math.max(0.1, Math.min(next, stability));
+    }
+
+    private double clampDifficulty(double difficulty) {
+        return Math.min(10, Math.max(1, difficulty));
+    }
+
+    private double elapsedDays(Instant from, Instant to) {
+        return Math.max(0, Duration.between(from, to).toSeconds() / 86400.0);
+    }
+}
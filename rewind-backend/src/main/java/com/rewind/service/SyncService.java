@@ -0,0 +1,281 @@
+package com.rewind.service;
+
+import com.rewind.dto.SyncDTO.*;
+import com.rewind.model.*;
+import com.rewind.repository.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a batch of queued offline mutations (question start, solution,
+ * recording, revision completion) in client order, in one transaction.
+ * Every operation carries an idempotency key, so a batch re-sent after a lost
+ * response replays stored results instead of applying twice. The first failing
+ * operation rolls the transaction back; the operations before it are applied
+ * again on their own and everything after it is reported as SKIPPED for the
+ * client to resend.
+ */
+@Service
+@Slf4j
+public class SyncService {
+
+    private static final String REQUEST_PATH_PREFIX = "SYNC ";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final String RESERVE_KEY_SQL = "INSERT INTO idempotency_keys " +
+            "(user_id, idempotency_key, request_path, created_at) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, idempotency_key) DO NOTHING";
+
+    private static final String COMPLETE_KEY_SQL = "UPDATE idempotency_keys " +
+            "SET response_status = ?, response_body = ? WHERE user_id = ? AND idempotency_key = ?";
+
+    private final UserQuestionService userQuestionService;
+    private final RevisionService revisionService;
+    private final ReadinessService readinessService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final IdempotencyService idempotencyService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${sync.max-operations:100}")
+    private int maxOperations;
+
+    public SyncService(UserQuestionService userQuestionService, RevisionService revisionService,
+            ReadinessService readinessService, IdempotencyKeyRepository idempotencyKeyRepository,
+            IdempotencyService idempotencyService, JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate) {
+        this.userQuestionService = userQuestionService;
+        this.revisionService = revisionService;
+        this.readinessService = readinessService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.idempotencyService = idempotencyService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Returns an error message if the batch is malformed, otherwise null.
+     */
+    public String validate(List<SyncOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            return "No operations to sync";
+        }
+        if (operations.size() > maxOperations) {
+            return "At most " + maxOperations + " operations per sync";
+        }
+        Set<String> keys = new HashSet<>();
+        for (SyncOperation op : operations) {
+            if (op.getType() == null) {
+                return "Every operation needs a type";
+            }
+            String key = op.getIdempotencyKey();
+            if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+                return "Every operation needs an idempotency key of at most " + MAX_KEY_LENGTH + " characters";
+            }
+            if (!keys.add(key)) {
+                return "Duplicate idempotency key " + key;
+            }
+        }
+        return null;
+    }
+
+    public SyncResponse sync(User user, List<SyncOperation> operations) {
+        OperationResult[] results = new OperationResult[operations.size()];
+
+        // Keys seen before: one lookup for the whole batch
+        Map<String, IdempotencyKey> stored = idempotencyKeyRepository
+                .findByUserIdAndIdempotencyKeyIn(user.getId(),
+                        operations.stream().map(SyncOperation::getIdempotencyKey).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(IdempotencyKey::getIdempotencyKey, Function.identity()));
+
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            SyncOperation op = operations.get(i);
+            IdempotencyKey previous = stored.get(op.getIdempotencyKey());
+            if (previous == null) {
+                pending.add(i);
+            } else if (previous.getResponseStatus() == null) {
+                results[i] = OperationResult.of(op, "FAILED", 409, null,
+                        "An operation with this idempotency key is in progress, retry shortly");
+            } else if (!previous.getRequestPath().equals(requestPath(op))) {
+                results[i] = OperationResult.of(op, "FAILED", 422, null,
+                        "Idempotency key was already used for a different operation");
+            } else {
+                results[i] = OperationResult.of(op, "REPLAYED", previous.getResponseStatus(),
+                        idempotencyService.toResponse(previous).getBody(), null);
+            }
+        }
+
+        int limit = pending.size();
+        int failedAt;
+        while ((failedAt = applyInTransaction(user, operations, pending.subList(0, limit), results)) >= 0) {
+            for (int j = failedAt + 1; j < pending.size(); j++) {
+                int index = pending.get(j);
+                if (results[index] == null || "APPLIED".equals(results[index].getStatus())) {
+                    results[index] = OperationResult.of(operations.get(index), "SKIPPED", 424, null,
+                            "Not applied because an earlier operation failed");
+                }
+            }
+            // Re-apply only the operations before the failure
+            limit = failedAt;
+        }
+
+        List<OperationResult> resultList = Arrays.asList(results);
+        return SyncResponse.builder()
+                .results(resultList)
+                .applied(count(resultList, "APPLIED"))
+                .replayed(count(resultList, "REPLAYED"))
+                .failed(count(resultList, "FAILED"))
+                .skipped(count(resultList, "SKIPPED"))
+                .build();
+    }
+
+    /**
+     * Apply the operations in one transaction. Returns the position of the first
+     * failing operation (the transaction is then rolled back), or -1.
+     */
+    private int applyInTransaction(User user, List<SyncOperation> operations, List<Integer> indices,
+            OperationResult[] results) {
+        if (indices.isEmpty()) {
+            return -1;
+        }
+        Integer failedAt = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+
+            // Reserve all keys in one JDBC batch; a concurrent request with the same
+            // key waits on the unique index until this transaction ends
+            List<Object[]> reservations = new ArrayList<>();
+            for (int index : indices) {
+                SyncOperation op = operations.get(index);
+                reservations.add(new Object[] { user.getId(), op.getIdempotencyKey(), requestPath(op),
+                        Timestamp.from(now) });
+            }
+            int[] reserved = jdbcTemplate.batchUpdate(RESERVE_KEY_SQL, reservations);
+
+            List<Object[]> completions = new ArrayList<>();
+            for (int pos = 0; pos < indices.size(); pos++) {
+                int index = indices.get(pos);
+                SyncOperation op = operations.get(index);
+                if (reserved[pos] == 0) {
+                    results[index] = OperationResult.of(op, "FAILED", 409, null,
+                            "An operation with this idempotency key was submitted concurrently");
+                    continue;
+                }
+                try {
+                    Map<String, Object> result = apply(user, op, now);
+                    if (status.isRollbackOnly()) {
+                        // An inner @Transactional call failed and its caller swallowed the
+                        // exception; the transaction can no longer commit, so treat it as
+                        // this operation failing instead of failing the whole batch on commit
+                        log.info("Sync operation {} ({}) marked the transaction rollback-only for user {}",
+                                op.getIdempotencyKey(), op.getType(), user.getId());
+                        results[index] = OperationResult.of(op, "FAILED", 500, null, "Operation could not be applied");
+                        // Marking it locally makes the template roll back quietly
+                        status.setRollbackOnly();
+                        return pos;
+                    }
+                    results[index] = OperationResult.applied(op, result);
+                    completions.add(new Object[] { 200, idempotencyService.serialize(result), user.getId(),
+                            op.getIdempotencyKey() });
+                } catch (RuntimeException e) {
+                    int code = statusFor(e);
+                    if (code == 500) {
+                        // Unexpected failures may carry SQL or driver text; keep it in the log only
+                        log.error("Sync operation {} ({}) failed for user {}", op.getIdempotencyKey(), op.getType(),
+                                user.getId(), e);
+                    } else {
+                        log.info("Sync operation {} ({}) failed for user {}: {}", op.getIdempotencyKey(),
+                                op.getType(), user.getId(), e.getMessage());
+                    }
+                    results[index] = OperationResult.of(op, "FAILED", code, null,
+                            code == 500 ? "Operation could not be applied" : e.getMessage());
+                    status.setRollbackOnly();
+                    return pos;
+                }
+            }
+            if (!completions.isEmpty()) {
+                jdbcTemplate.batchUpdate(COMPLETE_KEY_SQL, completions);
+            }
+            return -1;
+        });
+        return failedAt != null ? failedAt : -1;
+    }
+
+    private Map<String, Object> apply(User user, SyncOperation op, Instant now) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        switch (op.getType()) {
+            case "START_QUESTION" -> {
+                UserQuestion uq = userQuestionService.startQuestion(user, required(op.getQuestionId(), "questionId"));
+                result.put("userQuestionId", uq.getId());
+                result.put("status", uq.getStatus().name());
+            }
+            case "SUBMIT_SOLUTION" -> {
+                Solution solution = userQuestionService.submitSolution(user,
+                        required(op.getUserQuestionId(), "userQuestionId"), required(op.getCode(), "code"),
+                        op.getLanguage(), op.getLeetcodeSubmissionLink());
+                result.put("solutionId", solution.getId());
+            }
+            case "SAVE_RECORDING" -> {
+                ExplanationRecording recording = userQuestionService.saveRecording(user,
+                        required(op.getUserQuestionId(), "userQuestionId"), required(op.getAudioUrl(), "audioUrl"),
+                        required(op.getDurationSeconds(), "durationSeconds"), op.getConfidenceScore());
+                result.put("recordingId", recording.getId());
+                result.put("version", recording.getVersion());
+            }
+            case "COMPLETE_REVISION" -> {
+                // Reviewed when the user did it offline, never in the future
+                Instant reviewedAt = op.getClientTimestamp() != null && op.getClientTimestamp().isBefore(now)
+                        ? op.getClientTimestamp()
+                        : now;
+                RevisionSession session = revisionService.completeRevision(user,
+                        required(op.getScheduleId(), "scheduleId"),
+                        required(op.getListenedVersion(), "listenedVersion"),
+                        op.getRerecorded() != null ? op.getRerecorded() : false,
+                        op.getNewConfidenceScore(), reviewedAt)
+                        .orElseThrow(() -> new IllegalStateException("Revision is not pending"));
+                readinessService.calculateRevisionCompletion(user, session.getRevisionSchedule());
+                result.put("sessionId", session.getId());
+            }
+            default -> throw new IllegalArgumentException("Unknown operation type " + op.getType());
+        }
+        return result;
+    }
+
+    private static String requestPath(SyncOperation op) {
+        return REQUEST_PATH_PREFIX + op.getType();
+    }
+
+    private static <T> T required(T value, String field) {
+        if (value == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return value;
+    }
+
+    private static int statusFor(RuntimeException e) {
+        if (e instanceof SecurityException) {
+            return 403;
+        }
+        if (e instanceof IllegalStateException) {
+            return 409;
+        }
+        if (e instanceof IllegalArgumentException) {
+            return 400;
+        }
+        return 500;
+    }
+
+    private static int count(List<OperationResult> results, String status) {
+        return (int) results.stream().filter(r -> status.equals(r.getStatus())).count();
+    }
+}
@@ -0,0 +1,275 @@
+package com.rewind.service;
+
+import com.rewind.model.ExplanationRecording;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * CPU-only analysis of an explanation transcript: pacing (words per minute),
+ * filler-word density, sentence length, complexity vocabulary coverage and
+ * structure markers. Clear-cut results are turned into a rule-based
+ * communication tip; only ambiguous transcripts (or explicit deep-feedback
+ * requests) are sent to Gemini.
+ */
+@Component
+public class TranscriptAnalyzer {
+
+    // Comfortable interview pace is roughly 110-170 wpm
+    private static final double WPM_SLOW = 90;
+    private static final double WPM_GOOD_MIN = 110;
+    private static final double WPM_GOOD_MAX = 170;
+    private static final double WPM_FAST = 190;
+
+    // Filler words per 100 words
+    private static final double FILLER_GOOD_MAX = 3;
+    private static final double FILLER_BAD = 6;
+
+    private static final double SENTENCE_GOOD_MAX = 25;
+    private static final double SENTENCE_BAD = 35;
+
+    // Shorter transcripts do not say enough to judge
+    private static final int MIN_WORDS = 30;
+
+    private static final Set<String> SINGLE_FILLERS = Set.of(
+            "um", "umm", "uh", "uhh", "uhm", "erm", "er", "hmm", "like", "basically", "actually", "literally");
+
+    private static final List<String> PHRASE_FILLERS = List.of(
+            "you know", "i mean", "kind of", "sort of");
+
+    private static final List<String> COMPLEXITY_TERMS = List.of(
+            "o(1)", "o(n)", "o(log n)", "o(n log n)", "o(n^2)", "o of n", "o of one", "o of log n",
+            "o of n squared", "o of n log n", "big o", "time complexity", "space complexity", "linear time",
+            "constant time", "logarithmic", "quadratic", "constant space", "hash map", "hashmap", "hash set",
+            "hashset", "dictionary", "two pointers", "two pointer", "sliding window", "binary search", "stack",
+            "queue", "heap", "priority queue", "recursion", "memoization", "dynamic programming", "bfs", "dfs",
+            "breadth first", "depth first", "trie", "linked list", "greedy", "backtracking", "prefix sum");
+
+    private static final List<String> STRUCTURE_MARKERS = List.of(
+            "first", "firstly", "second", "secondly", "then", "next", "finally", "after that", "the idea is",
+            "approach", "brute force", "optimize", "optimise", "edge case", "for example", "to summarize",
+            "in summary", "overall", "trade off", "tradeoff", "because");
+
+    private static final Pattern SENTENCE_SPLIT = Pattern.compile("[.!?]+");
+    private static final Pattern NON_WORD = Pattern.compile("[^a-z0-9()^ ]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public record TranscriptMetrics(
+            int wordCount,
+            Double wordsPerMinute,
+            int fillerCount,
+            double fillerDensity,
+            int sentenceCount,
+            double avgSentenceWords,
+            int maxSentenceWords,
+            List<String> complexityTerms,
+            int structureMarkers) {
+    }
+
+    /**
+     * Clear problems, borderline signals, and whether the result is too unclear
+     * for a rule-based tip.
+     */
+    public record Assessment(List<String> problems, List<String> borderline, boolean ambiguous) {
+    }
+
+    public TranscriptMetrics analyze(String transcript, Integer durationSeconds) {
+        String text = normalize(transcript);
+        String[] words = text.isBlank() ? new String[0] : text.trim().split(" ");
+        int wordCount = words.length;
+
+        Double wpm = durationSeconds != null && durationSeconds > 0
+                ? round(wordCount * 60.0 / durationSeconds)
+                : null;
+
+        int fillers = 0;
+        for (String word : words) {
+            if (SINGLE_FILLERS.contains(word)) {
+                fillers++;
+            }
+        }
+        for (String phrase : PHRASE_FILLERS) {
+            fillers += countOccurrences(text, phrase);
+        }
+        double fillerDensity = wordCount == 0 ? 0 : round(fillers * 100.0 / wordCount);
+
+        int sentenceCount = 0;
+        int maxSentence = 0;
+        int sentenceWords = 0;
+        for (String sentence : SENTENCE_SPLIT.split(transcript == null ? "" : transcript)) {
+            String trimmed = sentence.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int length = WHITESPACE.split(trimmed).length;
+            sentenceCount++;
+            sentenceWords += length;
+            maxSentence = Math.max(maxSentence, length);
+        }
+        double avgSentence = sentenceCount == 0 ? 0 : round((double) sentenceWords / sentenceCount);
+
+        Set<String> complexity = new LinkedHashSet<>();
+        for (String term : COMPLEXITY_TERMS) {
+            if (containsPhrase(text, term)) {
+                complexity.add(term);
+            }
+        }
+
+        int structure = 0;
+        for (String marker : STRUCTURE_MARKERS) {
+            if (containsPhrase(text, marker)) {
+                structure++;
+            }
+        }
+
+        return new TranscriptMetrics(wordCount, wpm, fillers, fillerDensity, sentenceCount, avgSentence,
+                maxSentence, List.copyOf(complexity), structure);
+    }
+
+    public Assessment assess(TranscriptMetrics metrics) {
+        List<String> problems = new ArrayList<>();
+        List<String> borderline = new ArrayList<>();
+
+        if (metrics.wordCount() < MIN_WORDS) {
+            problems.add("too_short");
+            return new Assessment(problems, borderline, false);
+        }
+
+        Double wpm = metrics.wordsPerMinute();
+        if (wpm == null) {
+            borderline.add("pace_unknown");
+        } else if (wpm < WPM_SLOW) {
+            problems.add("too_slow");
+        } else if (wpm > WPM_FAST) {
+            problems.add("too_fast");
+        } else if (wpm < WPM_GOOD_MIN || wpm > WPM_GOOD_MAX) {
+            borderline.add("pace");
+        }
+
+        if (metrics.fillerDensity() > FILLER_BAD) {
+            problems.add("fillers");
+        } else if (metrics.fillerDensity() > FILLER_GOOD_MAX) {
+            borderline.add("fillers");
+        }
+
+        // Without punctuation the whole transcript is one "sentence"; don't judge that
+        if (metrics.sentenceCount() > 1) {
+            if (metrics.avgSentenceWords() > SENTENCE_BAD) {
+                problems.add("long_sentences");
+            } else if (metrics.avgSentenceWords() > SENTENCE_GOOD_MAX) {
+                borderline.add("long_sentences");
+            }
+        }
+
+        if (metrics.complexityTerms().isEmpty()) {
+            problems.add("no_complexity");
+        } else if (metrics.complexityTerms().size() == 1) {
+            borderline.add("complexity");
+        }
+
+        if (metrics.structureMarkers() == 0) {
+            problems.add("no_structure");
+        } else if (metrics.structureMarkers() == 1) {
+            borderline.add("structure");
+        }
+
+        // Clear problems get a rule-based tip; mixed signals with nothing clearly
+        // wrong need a model to judge
+        return new Assessment(problems, borderline, problems.isEmpty() && !borderline.isEmpty());
+    }
+
+    /**
+     * Rule-based communication tip for a clear-cut assessment.
+     */
+    public String buildTip(TranscriptMetrics metrics, Assessment assessment) {
+        StringBuilder tip = new StringBuilder();
+        List<String> problems = assessment.problems();
+
+        if (problems.contains("too_short")) {
+            return "**Say more:** Your explanation was only " + metrics.wordCount() + " words. Walk through the "
+                    + "approach step by step, state the time and space complexity, and mention an edge case.";
+        }
+
+        if (problems.contains("too_fast")) {
+            tip.append("- **Pacing:** About ").append(Math.round(metrics.wordsPerMinute()))
+                    .append(" words/min is fast for an interview. Slow down and pause between steps.\n");
+        }
+        if (problems.contains("too_slow")) {
+            tip.append("- **Pacing:** About ").append(Math.round(metrics.wordsPerMinute()))
+                    .append(" words/min is slow. Practise the explanation so it flows without long gaps.\n");
+        }
+        if (problems.contains("fillers")) {
+            tip.append("- **Filler words:** ").append(metrics.fillerCount())
+                    .append(" fillers (").append(metrics.fillerDensity())
+                    .append(" per 100 words). Replace \"um\"/\"like\" with a short pause.\n");
+        }
+        if (problems.contains("long_sentences")) {
+            tip.append("- **Clarity:** Sentences average ").append(metrics.avgSentenceWords())
+                    .append(" words. Break them up: one idea per sentence.\n");
+        }
+        if (problems.contains("no_complexity")) {
+            tip.append("- **Technical vocabulary:** You never stated the complexity or named the data structure. ")
+                    .append("Say it explicitly, e.g. \"O(n) time with a hash map\".\n");
+        }
+        if (problems.contains("no_structure")) {
+            tip.append("- **Structure:** Signpost your explanation: the idea, then the steps, ")
+                    .append("then complexity and edge cases.\n");
+        }
+
+        if (tip.length() == 0) {
+            tip.append("- **Well delivered:** Good pace");
+            if (metrics.wordsPerMinute() != null) {
+                tip.append(" (").append(Math.round(metrics.wordsPerMinute())).append(" words/min)");
+            }
+            tip.append(", few fillers, and you covered ").append(String.join(", ", metrics.complexityTerms()))
+                    .append(". Next time, also mention an edge case and a trade-off.\n");
+        }
+        return tip.toString().trim();
+    }
+
+    /**
+     * Copy metrics onto the recording so they are stored with it.
+     */
+    public void apply(ExplanationRecording recording, TranscriptMetrics metrics) {
+        recording.setWordCount(metrics.wordCount());
+        recording.setWordsPerMinute(metrics.wordsPerMinute());
+        recording.setFillerDensity(metrics.fillerDensity());
+        recording.setAvgSentenceWords(metrics.avgSentenceWords());
+        recording.setMaxSentenceWords(metrics.maxSentenceWords());
+        recording.setComplexityTerms(metrics.complexityTerms().size());
+        recording.setStructureMarkers(metrics.structureMarkers());
+    }
+
+    private String normalize(String transcript) {
+        if (transcript == null) {
+            return "";
+        }
+        String lower = transcript.toLowerCase(Locale.ROOT).replace('-', ' ');
+        return WHITESPACE.matcher(NON_WORD.matcher(lower).replaceAll(" ")).replaceAll(" ").trim();
+    }
+
+    private boolean containsPhrase(String text, String phrase) {
+        return (" " + text + " ").contains(" " + phrase + " ");
+    }
+
+    private int countOccurrences(String text, String phrase) {
+        String padded = " " + text + " ";
+        String needle = " " + phrase + " ";
+        int count = 0;
+        int index = padded.indexOf(needle);
+        while (index >= 0) {
+            count++;
+            index = padded.indexOf(needle, index + needle.length() - 1);
+        }
+        return count;
+    }
+
+    private double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -1,14 +1,14 @@
 package com.rewind.service;
 
+import com.rewind.model.AiUsageDaily;
 import com.rewind.model.ExplanationRecording;
 import com.rewind.repository.ExplanationRecordingRepository;
+import com.rewind.service.GeminiClient.GeminiUnavailableException;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.net.URL;
+import java.time.Instant;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
@@ -19,24 +19,21 @@ import java.util.UUID;
 public class TranscriptService {
 
     private final ExplanationRecordingRepository recordingRepository;
-    private final RestTemplate restTemplate;
+    private final GeminiClient geminiClient;
 
-    @Value("${gemini.api-key:}")
-    private String geminiApiKey;
-
-    private static final String GEMINI_API_URL = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent";
-
-    public TranscriptService(ExplanationRecordingRepository recordingRepository) {
+    public TranscriptService(ExplanationRecordingRepository recordingRepository, GeminiClient geminiClient) {
         this.recordingRepository = recordingRepository;
-        this.restTemplate = new RestTemplate();
+        this.geminiClient = geminiClient;
     }
 
     /**
      * Transcribe audio from a URL using Gemini API.
      * Returns the transcript text or null if transcription fails.
+     * Throws {@link GeminiUnavailableException} if Gemini is unhealthy so the
+     * caller can retry later.
      */
-    public String transcribe(String audioUrl) {
-        if (geminiApiKey == null || geminiApiKey.isEmpty()) {
+    public String transcribe(String audioUrl, UUID userId, Instant deadline) {
+        if (!geminiClient.isConfigured()) {
             log.warn("Gemini API key not configured, skipping transcription");
             return null;
         }
@@ -69,48 +66,27 @@ public class TranscriptService {
                             "temperature", 0.1,
                             "maxOutputTokens", 2000));
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            String url = GEMINI_API_URL + "?key=" + geminiApiKey;
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-
             log.info("Calling Gemini API for transcription, audio size: {} bytes", audioBytes.length);
 
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, request, Map.class);
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                String transcript = extractTextFromResponse(response.getBody());
+            Map<String, Object> response = geminiClient.generateContent(AiUsageDaily.Feature.TRANSCRIPTION, userId,
+                    requestBody, deadline);
+            if (response != null) {
+                String transcript = GeminiClient.extractText(response);
                 log.info("Transcription successful, length: {}", transcript != null ? transcript.length() : 0);
                 return transcript;
             }
+        } catch (GeminiUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error transcribing audio with Gemini: {}", e.getMessage());
         }
         return null;
     }
 
-    @SuppressWarnings("unchecked")
-    private String extractTextFromResponse(Map<String, Object> response) {
-        try {
-            List<Map<String, Object>> candidates = (List<Map<String, Object>>) response.get("candidates");
-            if (candidates != null && !candidates.isEmpty()) {
-                Map<String, Object> content = (Map<String, Object>) candidates.get(0).get("content");
-                List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
-                if (parts != null && !parts.isEmpty()) {
-                    return (String) parts.get(0).get("text");
-                }
-            }
-        } catch (Exception e) {
-            log.error("Error parsing Gemini response: {}", e.getMessage());
-        }
-        return null;
-    }
-
     /**
      * Transcribe a recording and update the database.
      */
-    public ExplanationRecording transcribeRecording(UUID recordingId) {
+    public ExplanationRecording transcribeRecording(UUID recordingId, Instant deadline) {
         var recording = recordingRepository.findById(recordingId)
                 .orElseThrow(() -> new RuntimeException("Recording not found"));
 
@@ -119,7 +95,8 @@ public class TranscriptService {
             return recording;
         }
 
-        String transcript = transcribe(recording.getAudioUrl());
+        String transcript = transcribe(recording.getAudioUrl(), recording.getUserQuestion().getUser().getId(),
+                deadline);
         if (transcript != null) {
             recording.setTranscript(transcript);
             return recordingRepository.save(recording);
@@ -16,19 +16,26 @@ public class UserQuestionService {
 
     private final UserQuestionRepository userQuestionRepository;
     private final QuestionRepository questionRepository;
+    private final PatternRepository patternRepository;
+    private final QuestionCatalog questionCatalog;
     private final SolutionRepository solutionRepository;
     private final ExplanationRecordingRepository recordingRepository;
     private final UserPatternStatsRepository patternStatsRepository;
     private final ReadinessService readinessService;
     private final RevisionService revisionService;
+    private final SpacedRepetitionEngine spacedRepetitionEngine;
+    private final ProgressCounterService progressCounterService;
 
     /**
      * Start solving a question - marks it as STARTED.
      */
     @Transactional
     public UserQuestion startQuestion(User user, UUID questionId) {
-        Question question = questionRepository.findById(questionId)
+        // Existence and pattern come from the catalog; only references are needed
+        var catalogQuestion = questionCatalog.findQuestion(questionId)
                 .orElseThrow(() -> new IllegalArgumentException("Question not found"));
+        Question question = questionRepository.getReferenceById(questionId);
+        Pattern pattern = patternRepository.getReferenceById(catalogQuestion.pattern().id());
 
         // Check if already exists
         var existing = userQuestionRepository.findByUserIdAndQuestionId(user.getId(), questionId);
@@ -41,7 +48,7 @@ public class UserQuestionService {
             }
             uq.start();
             // Update pattern stats
-            updatePatternAttempted(user, question.getPattern());
+            updatePatternAttempted(user, pattern);
             return userQuestionRepository.save(uq);
         }
 
@@ -53,7 +60,7 @@ public class UserQuestionService {
         userQuestion.start();
 
         // Update pattern stats
-        updatePatternAttempted(user, question.getPattern());
+        updatePatternAttempted(user, pattern);
 
         return userQuestionRepository.save(userQuestion);
     }
@@ -63,21 +70,17 @@ public class UserQuestionService {
      */
     @Transactional
     public Solution submitSolution(User user, UUID userQuestionId, String code, String language, String leetcodeLink) {
-        UserQuestion uq = userQuestionRepository.findById(userQuestionId)
-                .orElseThrow(() -> new IllegalArgumentException("UserQuestion not found"));
-
-        // Validate ownership
-        if (!uq.getUser().getId().equals(user.getId())) {
-            throw new SecurityException("Not authorized");
-        }
+        // Ownership is checked in the query; the entity itself is not needed
+        UserQuestion.Status status = userQuestionRepository.findStatusByIdAndUserId(userQuestionId, user.getId())
+                .orElseThrow(() -> notFoundOrNotAuthorized(userQuestionId));
 
         // Validate state
-        if (uq.getStatus() == UserQuestion.Status.NOT_STARTED) {
+        if (status == UserQuestion.Status.NOT_STARTED) {
             throw new IllegalStateException("Question must be started first");
         }
 
         Solution solution = Solution.builder()
-                .userQuestion(uq)
+                .userQuestion(userQuestionRepository.getReferenceById(userQuestionId))
                 .code(code)
                 .language(language)
                 .leetcodeSubmissionLink(leetcodeLink)
@@ -96,21 +99,18 @@ public class UserQuestionService {
             String audioUrl,
             int durationSeconds,
             Integer confidenceScore) {
-        UserQuestion uq = userQuestionRepository.findById(userQuestionId)
-                .orElseThrow(() -> new IllegalArgumentException("UserQuestion not found"));
-
-        // Validate ownership
-        if (!uq.getUser().getId().equals(user.getId())) {
-            throw new SecurityException("Not authorized");
-        }
+        // One query: ownership check, question + pattern, solution count and latest version
+        var target = userQuestionRepository.findRecordingTarget(userQuestionId, user.getId())
+                .orElseThrow(() -> notFoundOrNotAuthorized(userQuestionId));
+        UserQuestion uq = target.getUserQuestion();
 
         // Must have at least one solution
-        if (solutionRepository.findByUserQuestionIdOrderByCreatedAtDesc(userQuestionId).isEmpty()) {
+        if (target.getSolutionCount() == 0) {
             throw new IllegalStateException("Must submit solution before recording");
         }
 
         // Determine version
-        int version = recordingRepository.findMaxVersionByUserQuestionId(userQuestionId) + 1;
+        int version = target.getMaxRecordingVersion() + 1;
 
         // Save recording
         ExplanationRecording recording = ExplanationRecording.builder()
@@ -124,7 +124,11 @@ public class UserQuestionService {
         // Mark as DONE if first recording
         if (uq.getStatus() != UserQuestion.Status.DONE) {
             uq.markDone(confidenceScore);
+            // Completion counts as the first review
+            spacedRepetitionEngine.review(uq, SpacedRepetitionEngine.ratingForConfidence(confidenceScore),
+                    uq.getDoneAt());
             userQuestionRepository.save(uq);
+            progressCounterService.recordQuestionCompleted(user, uq);
 
             // Non-critical operations: wrapped in try-catch so recording saves even if
             // these fail
@@ -151,6 +155,16 @@ public class UserQuestionService {
                 .orElse(null);
     }
 
+    /**
+     * Only reached when an ownership-checked lookup found nothing; tells a missing
+     * row apart from someone else's.
+     */
+    private RuntimeException notFoundOrNotAuthorized(UUID userQuestionId) {
+        return userQuestionRepository.existsById(userQuestionId)
+                ? new SecurityException("Not authorized")
+                : new IllegalArgumentException("UserQuestion not found");
+    }
+
     private void updatePatternAttempted(User user, Pattern pattern) {
         var stats = patternStatsRepository.findByUserIdAndPatternId(user.getId(), pattern.getId());
 
@@ -0,0 +1,8 @@
+-- Re-queue support for recording analysis when Gemini is unavailable
+ALTER TABLE explanation_recordings
+ADD COLUMN IF NOT EXISTS analysis_attempts INT NOT NULL DEFAULT 0,
+ADD COLUMN IF NOT EXISTS analysis_retry_at TIMESTAMPTZ;
+
+-- Index for the re-queue poller
+CREATE INDEX IF NOT EXISTS idx_recordings_analysis_retry ON explanation_recordings(analysis_retry_at)
+    WHERE analysis_status = 'PENDING' AND analysis_retry_at IS NOT NULL;
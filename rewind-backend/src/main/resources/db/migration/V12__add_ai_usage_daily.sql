@@ -0,0 +1,19 @@
+-- Per-user daily aggregate of outbound AI calls (one row per user, day and feature)
+CREATE TABLE IF NOT EXISTS ai_usage_daily (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    usage_date DATE NOT NULL,
+    feature VARCHAR(30) NOT NULL,
+    calls INT NOT NULL DEFAULT 0,
+    errors INT NOT NULL DEFAULT 0,
+    prompt_tokens BIGINT NOT NULL DEFAULT 0,
+    output_tokens BIGINT NOT NULL DEFAULT 0,
+    cached_tokens BIGINT NOT NULL DEFAULT 0,
+    total_latency_ms BIGINT NOT NULL DEFAULT 0,
+    estimated_cost_usd DOUBLE PRECISION NOT NULL DEFAULT 0,
+    UNIQUE(user_id, usage_date, feature)
+);
+
+CREATE INDEX IF NOT EXISTS idx_ai_usage_daily_date ON ai_usage_daily(usage_date);
+
+ALTER TABLE ai_usage_daily ENABLE ROW LEVEL SECURITY;
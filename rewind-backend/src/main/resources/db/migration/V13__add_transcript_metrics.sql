@@ -0,0 +1,11 @@
+-- Locally computed transcript metrics (see TranscriptAnalyzer)
+ALTER TABLE explanation_recordings
+ADD COLUMN IF NOT EXISTS word_count INT,
+ADD COLUMN IF NOT EXISTS words_per_minute DOUBLE PRECISION,
+ADD COLUMN IF NOT EXISTS filler_density DOUBLE PRECISION,
+ADD COLUMN IF NOT EXISTS avg_sentence_words DOUBLE PRECISION,
+ADD COLUMN IF NOT EXISTS max_sentence_words INT,
+ADD COLUMN IF NOT EXISTS complexity_terms INT,
+ADD COLUMN IF NOT EXISTS structure_markers INT,
+-- User asked for LLM communication feedback regardless of the metrics
+ADD COLUMN IF NOT EXISTS deep_feedback BOOLEAN NOT NULL DEFAULT FALSE;
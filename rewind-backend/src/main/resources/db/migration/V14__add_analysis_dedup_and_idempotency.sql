@@ -0,0 +1,21 @@
+-- When the current analysis job was requested/dispatched; a PENDING or PROCESSING
+-- recording with a recent value is in flight and new analyze requests attach to it
+ALTER TABLE explanation_recordings
+ADD COLUMN IF NOT EXISTS analysis_requested_at TIMESTAMPTZ;
+
+-- Stored responses for requests sent with an Idempotency-Key header
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_path VARCHAR(255) NOT NULL,
+    -- NULL while the first request is still being processed
+    response_status INT,
+    response_body TEXT,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    UNIQUE(user_id, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created ON idempotency_keys(created_at);
+
+ALTER TABLE idempotency_keys ENABLE ROW LEVEL SECURITY;
@@ -0,0 +1,15 @@
+-- GET /revisions/today reads pending, due schedules of one user
+CREATE INDEX IF NOT EXISTS idx_revision_schedules_user_due ON revision_schedules(user_id, scheduled_at)
+    WHERE completed_at IS NULL;
+
+-- Bookkeeping for scheduled batch jobs (run lock and last completed run)
+CREATE TABLE IF NOT EXISTS scheduled_job_runs (
+    job_name VARCHAR(100) PRIMARY KEY,
+    last_started_at TIMESTAMPTZ,
+    last_completed_at TIMESTAMPTZ,
+    last_processed_users INT
+);
+
+INSERT INTO scheduled_job_runs (job_name) VALUES ('revision-queue') ON CONFLICT DO NOTHING;
+
+ALTER TABLE scheduled_job_runs ENABLE ROW LEVEL SECURITY;
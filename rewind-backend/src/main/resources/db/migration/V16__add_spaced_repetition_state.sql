@@ -0,0 +1,45 @@
+-- FSRS memory state per solved question (see SpacedRepetitionEngine)
+ALTER TABLE user_questions
+ADD COLUMN IF NOT EXISTS srs_stability DOUBLE PRECISION,
+ADD COLUMN IF NOT EXISTS srs_difficulty DOUBLE PRECISION,
+ADD COLUMN IF NOT EXISTS srs_due_at TIMESTAMPTZ,
+ADD COLUMN IF NOT EXISTS srs_last_review_at TIMESTAMPTZ,
+ADD COLUMN IF NOT EXISTS srs_reps INT NOT NULL DEFAULT 0,
+ADD COLUMN IF NOT EXISTS srs_lapses INT NOT NULL DEFAULT 0;
+
+-- Today's queue is a range scan on due_at per user
+CREATE INDEX IF NOT EXISTS idx_user_questions_srs_due ON user_questions(user_id, srs_due_at)
+    WHERE srs_due_at IS NOT NULL;
+
+-- Backfill completed questions: treat completion (or the last completed revision)
+-- as a first review graded from the confidence score
+-- (1 = Again, 2 = Hard, 3-4 = Good, 5 = Easy; FSRS-4.5 default weights)
+WITH graded AS (
+    SELECT uq.id,
+        CASE
+            WHEN uq.confidence_score IS NULL THEN 3
+            WHEN uq.confidence_score <= 1 THEN 1
+            WHEN uq.confidence_score = 2 THEN 2
+            WHEN uq.confidence_score >= 5 THEN 4
+            ELSE 3
+        END AS grade,
+        GREATEST(COALESCE(uq.done_at, uq.created_at, NOW()), MAX(rs.completed_at)) AS last_review,
+        COUNT(rs.completed_at) AS revisions
+    FROM user_questions uq
+    LEFT JOIN revision_schedules rs ON rs.user_question_id = uq.id
+    WHERE uq.status = 'DONE' AND uq.srs_stability IS NULL
+    GROUP BY uq.id
+), initial AS (
+    SELECT id, grade, last_review, revisions,
+        (ARRAY[0.4872, 1.4003, 3.7145, 13.8206])[grade] AS stability
+    FROM graded
+)
+UPDATE user_questions uq SET
+    srs_stability = i.stability,
+    srs_difficulty = LEAST(10, GREATEST(1, 5.1618 - (i.grade - 3) * 1.2298)),
+    srs_last_review_at = i.last_review,
+    srs_due_at = i.last_review + make_interval(days => GREATEST(1, ROUND(i.stability))::int),
+    srs_reps = 1 + i.revisions,
+    srs_lapses = CASE WHEN i.grade = 1 THEN 1 ELSE 0 END
+FROM initial i
+WHERE uq.id = i.id;
@@ -0,0 +1,29 @@
+-- Per-user progress counters, updated in the same transaction as question and
+-- revision completion so dashboard reads are a primary-key lookup
+CREATE TABLE IF NOT EXISTS user_progress_counters (
+    user_id UUID PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    completed_total INT NOT NULL DEFAULT 0,
+    completed_easy INT NOT NULL DEFAULT 0,
+    completed_medium INT NOT NULL DEFAULT 0,
+    completed_hard INT NOT NULL DEFAULT 0,
+    revisions_completed INT NOT NULL DEFAULT 0,
+    -- Completions per UTC day: element 1 is bucket_day, element 2 the day before, ...
+    bucket_day DATE,
+    daily_completions INT[] NOT NULL DEFAULT '{0,0,0,0,0,0,0}',
+    current_streak INT NOT NULL DEFAULT 0,
+    longest_streak INT NOT NULL DEFAULT 0,
+    last_active_date DATE,
+    -- Recompute from user_questions / revision_schedules before the next use
+    rebuild_required BOOLEAN NOT NULL DEFAULT FALSE,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_progress_counters_rebuild
+ON user_progress_counters(user_id) WHERE rebuild_required;
+
+-- Existing users are computed from their history by the repair job (or on first use)
+INSERT INTO user_progress_counters (user_id, rebuild_required)
+SELECT id, TRUE FROM users
+ON CONFLICT (user_id) DO NOTHING;
+
+ALTER TABLE user_progress_counters ENABLE ROW LEVEL SECURITY;
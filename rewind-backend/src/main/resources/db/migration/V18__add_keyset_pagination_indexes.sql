@@ -0,0 +1,22 @@
+-- Keyset pagination (ORDER BY created_at DESC, id DESC) for per-user history lists
+CREATE INDEX IF NOT EXISTS idx_readiness_events_user_keyset
+ON readiness_events(user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_payments_user_keyset
+ON payments(user_id, created_at DESC, id DESC);
+
+-- Owner copied from user_questions so the per-user feedback history is served
+-- by one index without a join
+ALTER TABLE ai_feedback ADD COLUMN IF NOT EXISTS user_id UUID REFERENCES users(id) ON DELETE CASCADE;
+
+UPDATE ai_feedback af SET user_id = uq.user_id
+FROM user_questions uq
+WHERE uq.id = af.user_question_id AND af.user_id IS NULL;
+
+ALTER TABLE ai_feedback ALTER COLUMN user_id SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_ai_feedback_user_keyset
+ON ai_feedback(user_id, created_at DESC, id DESC);
+
+-- Superseded by the keyset index (same leading columns)
+DROP INDEX IF EXISTS idx_readiness_events_user;
@@ -0,0 +1,6 @@
+-- IANA time zone used for daily bucketing (heatmap, weekly progress, streaks)
+ALTER TABLE users ADD COLUMN IF NOT EXISTS time_zone VARCHAR(64) NOT NULL DEFAULT 'UTC';
+
+-- Zone the counters' day buckets and streaks were computed in; a mismatch
+-- with users.time_zone triggers a rebuild
+ALTER TABLE user_progress_counters ADD COLUMN IF NOT EXISTS time_zone VARCHAR(64) NOT NULL DEFAULT 'UTC';
@@ -0,0 +1,249 @@
+package com.rewind.bench;
+
+import com.rewind.model.ExplanationRecording;
+import com.rewind.model.Question;
+import com.rewind.model.Solution;
+import com.rewind.model.User;
+import com.rewind.model.UserQuestion;
+import com.rewind.repository.ExplanationRecordingRepository;
+import com.rewind.repository.QuestionRepository;
+import com.rewind.repository.SolutionRepository;
+import com.rewind.repository.UserQuestionRepository;
+import com.rewind.repository.UserRepository;
+import com.rewind.service.GeminiService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes N recordings through the full analysis pipeline (transcription +
+ * feedback + persistence) against {@link FakeGeminiServer} and reports
+ * throughput, Hikari connection-acquire wait and end-to-end latency.
+ * Synthetic users/recordings are created up front and deleted afterwards.
+ *
+ * Run with: SPRING_PROFILES_ACTIVE=bench mvn spring-boot:test-run
+ */
+@Component
+@Profile("bench")
+@Lazy(false)
+@RequiredArgsConstructor
+@Slf4j
+public class AnalysisPipelineBenchmark implements CommandLineRunner {
+
+    private final GeminiService geminiService;
+    private final FakeGeminiServer fakeGeminiServer;
+    private final UserRepository userRepository;
+    private final QuestionRepository questionRepository;
+    private final UserQuestionRepository userQuestionRepository;
+    private final SolutionRepository solutionRepository;
+    private final ExplanationRecordingRepository recordingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationContext applicationContext;
+
+    @Value("${bench.recordings:200}")
+    private int recordingCount;
+
+    @Value("${bench.cleanup:true}")
+    private boolean cleanup;
+
+    @Value("${bench.exit-on-finish:true}")
+    private boolean exitOnFinish;
+
+    @Override
+    public void run(String... args) throws Exception {
+        List<UUID> userIds = new ArrayList<>();
+        try {
+            List<UUID> recordingIds = seed(userIds);
+            log.info("Benchmark seeded {} recordings for {} synthetic users", recordingIds.size(), userIds.size());
+            report(execute(recordingIds));
+        } finally {
+            if (cleanup && !userIds.isEmpty()) {
+                // user_questions, recordings, feedback and usage rows cascade from users
+                userRepository.deleteAllById(userIds);
+                log.info("Benchmark data removed");
+            }
+        }
+
+        if (exitOnFinish) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    /**
+     * One synthetic user per batch of questions (user_questions is unique per
+     * user and question), one solution and one recording per user question.
+     */
+    private List<UUID> seed(List<UUID> userIds) {
+        return transactionTemplate.execute(status -> {
+            List<Question> questions = questionRepository.findAllByOrderByOrderIndexAsc();
+            if (questions.isEmpty()) {
+                throw new IllegalStateException("No questions seeded, run the Flyway migrations first");
+            }
+
+            List<UUID> recordingIds = new ArrayList<>(recordingCount);
+            User user = null;
+            for (int i = 0; i < recordingCount; i++) {
+                if (i % questions.size() == 0) {
+                    UUID userId = UUID.randomUUID();
+                    user = userRepository.save(User.builder()
+                            .id(userId)
+                            .name("Bench User")
+                            .email("bench+" + userId + "@rewind.local")
+                            .build());
+                    userIds.add(userId);
+                }
+
+                UserQuestion userQuestion = UserQuestion.builder()
+                        .user(user)
+                        .question(questions.get(i % questions.size()))
+                        .build();
+                userQuestion.start();
+                userQuestion.markDone(3);
+                userQuestion = userQuestionRepository.save(userQuestion);
+
+                solutionRepository.save(Solution.builder()
+                        .userQuestion(userQuestion)
+                        .code("def solve(nums):\n    nums.sort()\n    return nums[0]\n")
+                        .language("python")
+                        .build());
+
+                ExplanationRecording recording = recordingRepository.save(ExplanationRecording.builder()
+                        .userQuestion(userQuestion)
+                        .audioUrl(fakeGeminiServer.audioUrl("bench-" + i))
+                        .durationSeconds(90)
+                        .build());
+                recordingIds.add(recording.getId());
+            }
+            return recordingIds;
+        });
+    }
+
+    private Result execute(List<UUID> recordingIds) throws InterruptedException {
+        AcquireSnapshot acquireBefore = AcquireSnapshot.of(meterRegistry);
+        long requestsBefore = fakeGeminiServer.getRequestCount();
+
+        // Sample pool pressure while the run is in flight
+        AtomicInteger maxPending = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            maxPending.accumulateAndGet((int) gaugeValue("hikaricp.connections.pending"), Math::max);
+            maxActive.accumulateAndGet((int) gaugeValue("hikaricp.connections.active"), Math::max);
+        }, 0, 50, TimeUnit.MILLISECONDS);
+
+        long[] latencies = new long[recordingIds.size()];
+        long startedAt = System.nanoTime();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(recordingIds.size());
+        for (int i = 0; i < recordingIds.size(); i++) {
+            int index = i;
+            long submittedAt = System.nanoTime();
+            futures.add(geminiService.processRecording(recordingIds.get(i))
+                    .whenComplete((ignored, error) -> latencies[index] = System.nanoTime() - submittedAt));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(error -> null).join();
+        long wallNanos = System.nanoTime() - startedAt;
+
+        sampler.shutdownNow();
+        sampler.awaitTermination(1, TimeUnit.SECONDS);
+
+        Map<ExplanationRecording.AnalysisStatus, Long> statuses = transactionTemplate.execute(status -> recordingRepository
+                .findAllById(recordingIds).stream()
+                .collect(Collectors.groupingBy(ExplanationRecording::getAnalysisStatus, Collectors.counting())));
+
+        return new Result(recordingIds.size(), wallNanos, latencies, statuses,
+                AcquireSnapshot.of(meterRegistry).minus(acquireBefore), maxPending.get(), maxActive.get(),
+                fakeGeminiServer.getRequestCount() - requestsBefore);
+    }
+
+    private double gaugeValue(String name) {
+        Gauge gauge = meterRegistry.find(name).gauge();
+        return gauge != null ? gauge.value() : 0;
+    }
+
+    private void report(Result result) {
+        long[] sorted = result.latencies().clone();
+        Arrays.sort(sorted);
+        double seconds = result.wallNanos() / 1e9;
+
+        log.info("""
+
+                ===== Analysis pipeline benchmark =====
+                recordings        : {}
+                wall time         : {} s
+                throughput        : {} jobs/s
+                gemini requests   : {}
+                final statuses    : {}
+                end-to-end latency: p50={}ms p90={}ms p99={}ms max={}ms
+                db pool acquire   : count={} mean={}ms total={}ms
+                db pool pressure  : max pending={} max active={}
+                =======================================""",
+                result.jobs(),
+                String.format("%.2f", seconds),
+                String.format("%.2f", result.jobs() / seconds),
+                result.geminiRequests(),
+                result.statuses(),
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.90), percentileMillis(sorted, 0.99),
+                percentileMillis(sorted, 1.0),
+                result.acquire().count(),
+                String.format("%.3f", result.acquire().meanMillis()),
+                String.format("%.1f", result.acquire().totalMillis()),
+                result.maxPending(), result.maxActive());
+    }
+
+    private long percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))]);
+    }
+
+    private record Result(int jobs, long wallNanos, long[] latencies,
+            Map<ExplanationRecording.AnalysisStatus, Long> statuses, AcquireSnapshot acquire, int maxPending,
+            int maxActive, long geminiRequests) {
+    }
+
+    /**
+     * Cumulative values of Hikari's connection-acquire timer, so a run can be
+     * measured as the difference of two snapshots.
+     */
+    private record AcquireSnapshot(long count, double totalMillis) {
+
+        static AcquireSnapshot of(MeterRegistry registry) {
+            Timer timer = registry.find("hikaricp.connections.acquire").timer();
+            return timer == null ? new AcquireSnapshot(0, 0)
+                    : new AcquireSnapshot(timer.count(), timer.totalTime(TimeUnit.MILLISECONDS));
+        }
+
+        AcquireSnapshot minus(AcquireSnapshot before) {
+            return new AcquireSnapshot(count - before.count, totalMillis - before.totalMillis);
+        }
+
+        double meanMillis() {
+            return count == 0 ? 0 : totalMillis / count;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.rewind.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Wiring for the "bench" profile: starts the fake Gemini server that
+ * gemini.base-url points at in application-bench.yml.
+ */
+@Configuration
+@Profile("bench")
+public class BenchConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @Lazy(false)
+    public FakeGeminiServer fakeGeminiServer(ObjectMapper objectMapper,
+            @Value("${fake-gemini.port:18089}") int port,
+            @Value("${fake-gemini.latency.distribution:LOGNORMAL}") FakeGeminiServer.LatencyDistribution distribution,
+            @Value("${fake-gemini.latency.mean-ms:1500}") long meanMs,
+            @Value("${fake-gemini.latency.stddev-ms:600}") long stddevMs,
+            @Value("${fake-gemini.error-rate:0.0}") double errorRate,
+            @Value("${fake-gemini.rate-limit-rate:0.0}") double rateLimitRate,
+            @Value("${fake-gemini.canned.text:**What's Good:** Clear structure.}") String cannedText,
+            @Value("${fake-gemini.canned.transcript:So first I sort the array, then I use two pointers from both ends and move them inward until they meet.}") String cannedTranscript,
+            @Value("${fake-gemini.audio-bytes:65536}") int audioBytes) {
+        return new FakeGeminiServer(new FakeGeminiServer.Settings(port, distribution, meanMs, stddevMs, errorRate,
+                rateLimitRate, cannedText, cannedTranscript, audioBytes), objectMapper);
+    }
+}
@@ -0,0 +1,217 @@
+package com.rewind.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embeddable stand-in for the Gemini generateContent API, used to measure the
+ * analysis pipeline without calling Google.
+ * Serves POST {base}/models/{model}:generateContent with a configurable latency
+ * distribution, 503/429 error rates and canned responses (plain text, the
+ * combined-feedback JSON, or a transcript for audio requests), plus
+ * GET /audio/{name} returning dummy audio bytes for the transcription step.
+ */
+@Slf4j
+public class FakeGeminiServer {
+
+    public enum LatencyDistribution {
+        FIXED, UNIFORM, LOGNORMAL
+    }
+
+    public record Settings(
+            int port,
+            LatencyDistribution latencyDistribution,
+            long latencyMeanMs,
+            long latencyStddevMs,
+            double errorRate,
+            double rateLimitRate,
+            String cannedText,
+            String cannedTranscript,
+            int audioBytes) {
+    }
+
+    private final Settings settings;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public FakeGeminiServer(Settings settings, ObjectMapper objectMapper) {
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+    }
+
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", settings.port()), 0);
+        server.createContext("/v1beta/models/", this::handleGenerateContent);
+        server.createContext("/audio/", this::handleAudio);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+        log.info("Fake Gemini server listening on {} ({} latency, mean {}ms, error rate {}, 429 rate {})",
+                getBaseUrl(), settings.latencyDistribution(), settings.latencyMeanMs(), settings.errorRate(),
+                settings.rateLimitRate());
+    }
+
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        log.info("Fake Gemini server stopped after {} requests ({} injected errors)", requests.get(),
+                injectedErrors.get());
+    }
+
+    public int getPort() {
+        return server != null ? server.getAddress().getPort() : settings.port();
+    }
+
+    /**
+     * Value for gemini.base-url.
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + getPort() + "/v1beta";
+    }
+
+    public String audioUrl(String name) {
+        return "http://127.0.0.1:" + getPort() + "/audio/" + name + ".webm";
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrors.get();
+    }
+
+    private void handleGenerateContent(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())
+                    || !exchange.getRequestURI().getPath().endsWith(":generateContent")) {
+                send(exchange, 404, "{\"error\":{\"code\":404,\"status\":\"NOT_FOUND\"}}", null);
+                return;
+            }
+            requests.incrementAndGet();
+            String requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+
+            sleep(sampleLatencyMs());
+
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < settings.errorRate()) {
+                injectedErrors.incrementAndGet();
+                send(exchange, 503, "{\"error\":{\"code\":503,\"status\":\"UNAVAILABLE\"}}", null);
+                return;
+            }
+            if (roll < settings.errorRate() + settings.rateLimitRate()) {
+                injectedErrors.incrementAndGet();
+                send(exchange, 429, "{\"error\":{\"code\":429,\"status\":\"RESOURCE_EXHAUSTED\"}}", "1");
+                return;
+            }
+
+            String text = cannedResponse(requestBody);
+            Map<String, Object> response = Map.of(
+                    "candidates", List.of(Map.of(
+                            "content", Map.of("role", "model", "parts", List.of(Map.of("text", text))),
+                            "finishReason", "STOP")),
+                    "usageMetadata", Map.of(
+                            "promptTokenCount", Math.max(1, requestBody.length() / 4),
+                            "candidatesTokenCount", Math.max(1, text.length() / 4),
+                            "totalTokenCount", Math.max(1, requestBody.length() / 4) + Math.max(1, text.length() / 4)));
+            send(exchange, 200, objectMapper.writeValueAsString(response), null);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleAudio(HttpExchange exchange) throws IOException {
+        try {
+            byte[] audio = new byte[settings.audioBytes()];
+            ThreadLocalRandom.current().nextBytes(audio);
+            exchange.getResponseHeaders().set("Content-Type", "audio/webm");
+            exchange.sendResponseHeaders(200, audio.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(audio);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String cannedResponse(String requestBody) throws IOException {
+        if (requestBody.contains("\"inline_data\"")) {
+            return settings.cannedTranscript();
+        }
+        if (requestBody.contains("\"responseSchema\"")) {
+            return objectMapper.writeValueAsString(Map.of(
+                    "hint", settings.cannedText(),
+                    "reflectionQuestion", "How would this approach change if the input were streamed?",
+                    "communicationTip", "State the complexity before walking through the code."));
+        }
+        return settings.cannedText();
+    }
+
+    private long sampleLatencyMs() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double mean = settings.latencyMeanMs();
+        double stddev = settings.latencyStddevMs();
+        double sample = switch (settings.latencyDistribution()) {
+            case FIXED -> mean;
+            case UNIFORM -> mean - stddev + random.nextDouble() * 2 * stddev;
+            case LOGNORMAL -> {
+                if (mean <= 0) {
+                    yield 0;
+                }
+                // Parameters of the underlying normal for the requested mean/stddev
+                double sigma2 = Math.log(1 + (stddev * stddev) / (mean * mean));
+                double mu = Math.log(mean) - sigma2 / 2;
+                yield Math.exp(mu + Math.sqrt(sigma2) * random.nextGaussian());
+            }
+        };
+        return Math.max(0, Math.round(sample));
+    }
+
+    private void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(HttpExchange exchange, int status, String body, String retryAfter) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        if (retryAfter != null) {
+            exchange.getResponseHeaders().set("Retry-After", retryAfter);
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.rewind.controller;
+
+import com.rewind.model.User;
+import com.rewind.repository.UserRepository;
+import com.rewind.support.QueryCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class ReadinessControllerTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void readinessRunsAFixedNumberOfQueries() throws Exception {
+        User user = userRepository.save(User.builder()
+                .id(UUID.randomUUID())
+                .email("readiness@example.com")
+                .build());
+        var auth = authentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+
+        // First request loads the catalog and builds the progress counters row
+        mockMvc.perform(get("/api/v1/readiness").with(auth))
+                .andExpect(status().isOk());
+
+        QueryCounter.reset();
+        mockMvc.perform(get("/api/v1/readiness").with(auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.breakdown.questionsSolved").value(0));
+
+        // Progress counters row, recent readiness events, pattern stats
+        assertThat(QueryCounter.count()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,64 @@
+package com.rewind.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogImportServiceTest {
+
+    @Test
+    void readsPlainFields() {
+        Reader reader = reader("title,difficulty,orderIndex\nTwo Sum,Easy,1\n");
+
+        assertThat(CatalogImportService.readCsvRecord(reader)).containsExactly("title", "difficulty", "orderIndex");
+        assertThat(CatalogImportService.readCsvRecord(reader)).containsExactly("Two Sum", "Easy", "1");
+        assertThat(CatalogImportService.readCsvRecord(reader)).isNull();
+    }
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() {
+        Reader reader = reader("\"Container, With Most Water\",\"Say \"\"hi\"\"\",\"line one\nline two\"\nnext,row\n");
+
+        assertThat(CatalogImportService.readCsvRecord(reader))
+                .containsExactly("Container, With Most Water", "Say \"hi\"", "line one\nline two");
+        assertThat(CatalogImportService.readCsvRecord(reader)).containsExactly("next", "row");
+    }
+
+    @Test
+    void emptyFieldsAreKept() {
+        assertThat(CatalogImportService.readCsvRecord(reader("a,,\n"))).containsExactly("a", "", "");
+        assertThat(CatalogImportService.readCsvRecord(reader("\"\",b\n"))).containsExactly("", "b");
+    }
+
+    @Test
+    void crlfLineEndingsAndBlankLinesAreHandled() {
+        Reader reader = reader("a,b\r\n\r\n\nc,d\r\n");
+
+        assertThat(CatalogImportService.readCsvRecord(reader)).containsExactly("a", "b");
+        assertThat(CatalogImportService.readCsvRecord(reader)).containsExactly("c", "d");
+        assertThat(CatalogImportService.readCsvRecord(reader)).isNull();
+    }
+
+    @Test
+    void lastRecordMayEndWithoutNewline() {
+        Reader reader = reader("a,b\n\"c\",\"d\"");
+
+        assertThat(CatalogImportService.readCsvRecord(reader)).containsExactly("a", "b");
+        assertThat(CatalogImportService.readCsvRecord(reader)).containsExactly("c", "d");
+        assertThat(CatalogImportService.readCsvRecord(reader)).isNull();
+    }
+
+    @Test
+    void emptyInputHasNoRecords() {
+        assertThat(CatalogImportService.readCsvRecord(reader(""))).isNull();
+        assertThat(CatalogImportService.readCsvRecord(reader("\n\n"))).isNull();
+    }
+
+    private static Reader reader(String csv) {
+        return new BufferedReader(new StringReader(csv));
+    }
+}
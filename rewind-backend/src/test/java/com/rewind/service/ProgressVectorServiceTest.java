@@ -0,0 +1,107 @@
+package com.rewind.service;
+
+import com.rewind.model.UserQuestion.Status;
+import com.rewind.repository.UserQuestionRepository;
+import com.rewind.service.QuestionCatalog.CatalogPattern;
+import com.rewind.service.QuestionCatalog.CatalogQuestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProgressVectorServiceTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private UserQuestionRepository userQuestionRepository;
+    private ProgressVectorService service;
+    private List<CatalogQuestion> questions;
+    private QuestionCatalog.Snapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        userQuestionRepository = mock(UserQuestionRepository.class);
+        service = new ProgressVectorService(userQuestionRepository);
+
+        CatalogPattern pattern = TestCatalog.pattern("Two Pointers", "Arrays", 5, "Move inward");
+        questions = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            questions.add(TestCatalog.question("Q" + i, "Easy", 15, i + 1, pattern));
+        }
+        snapshot = TestCatalog.snapshot(1, questions);
+    }
+
+    @Test
+    void packsTwoBitsPerQuestionLowestBitsFirst() {
+        statuses(row(0, Status.DONE), row(1, Status.STARTED), row(4, Status.DONE), row(5, Status.NOT_STARTED));
+
+        String vector = service.encode(USER_ID, snapshot);
+
+        // Byte 0: q0 = 2 (bits 0-1), q1 = 1 (bits 2-3); byte 1: q4 = 2
+        assertThat(Base64.getDecoder().decode(vector)).containsExactly(0b0000_0110, 0b0000_0010);
+        assertThat(vector).isEqualTo("BgI");
+    }
+
+    @Test
+    void lastSlotOfAByteUsesTheHighBits() {
+        statuses(row(3, Status.DONE), row(2, Status.STARTED));
+
+        byte[] packed = Base64.getDecoder().decode(service.encode(USER_ID, snapshot));
+
+        // q3 = 2 in bits 6-7, q2 = 1 in bits 4-5
+        assertThat(packed).hasSize(2);
+        assertThat(packed[0] & 0xFF).isEqualTo(0b1001_0000);
+        assertThat(packed[1]).isZero();
+    }
+
+    @Test
+    void everyPositionDecodesToItsStatus() {
+        Status[] expected = { Status.STARTED, Status.NOT_STARTED, Status.DONE, Status.DONE, Status.STARTED, null };
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < expected.length; i++) {
+            if (expected[i] != null) {
+                rows.add(row(i, expected[i]));
+            }
+        }
+        when(userQuestionRepository.findQuestionStatusByUserId(USER_ID)).thenReturn(rows);
+
+        byte[] packed = Base64.getDecoder().decode(service.encode(USER_ID, snapshot));
+
+        int[] codes = { 1, 0, 2, 2, 1, 0 };
+        for (int position = 0; position < codes.length; position++) {
+            int code = (packed[position >> 2] >> ((position & 3) * ProgressVectorService.BITS_PER_QUESTION)) & 3;
+            assertThat(code).as("position %d", position).isEqualTo(codes[position]);
+        }
+    }
+
+    @Test
+    void questionsNoLongerInTheCatalogAreIgnored() {
+        statuses(new Object[] { UUID.randomUUID(), Status.DONE }, row(0, Status.STARTED));
+
+        assertThat(Base64.getDecoder().decode(service.encode(USER_ID, snapshot))).containsExactly(1, 0);
+    }
+
+    @Test
+    void vectorLengthFollowsCatalogSize() {
+        statuses();
+
+        assertThat(service.encode(USER_ID, snapshot)).isEqualTo("AAA");
+        assertThat(service.encode(USER_ID, TestCatalog.snapshot(2, questions.subList(0, 4)))).isEqualTo("AA");
+        assertThat(service.encode(USER_ID, TestCatalog.snapshot(3, List.of()))).isEmpty();
+    }
+
+    private Object[] row(int position, Status status) {
+        return new Object[] { questions.get(position).id(), status };
+    }
+
+    private void statuses(Object[]... rows) {
+        when(userQuestionRepository.findQuestionStatusByUserId(USER_ID)).thenReturn(List.of(rows));
+    }
+}
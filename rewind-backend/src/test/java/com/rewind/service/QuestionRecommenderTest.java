@@ -0,0 +1,168 @@
+package com.rewind.service;
+
+import com.rewind.model.Pattern;
+import com.rewind.model.User;
+import com.rewind.model.UserPatternStats;
+import com.rewind.model.UserQuestion.Status;
+import com.rewind.repository.UserPatternStatsRepository;
+import com.rewind.repository.UserQuestionRepository;
+import com.rewind.service.QuestionCatalog.CatalogPattern;
+import com.rewind.service.QuestionCatalog.CatalogQuestion;
+import com.rewind.service.QuestionRecommender.Reason;
+import com.rewind.service.QuestionRecommender.Recommendation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QuestionRecommenderTest {
+
+    private static final String[] DIFFICULTIES = { "Easy", "Medium", "Hard" };
+
+    private UserPatternStatsRepository patternStatsRepository;
+    private UserQuestionRepository userQuestionRepository;
+    private QuestionRecommender recommender;
+
+    private List<CatalogPattern> patterns;
+    private List<CatalogQuestion> questions;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        patterns = new ArrayList<>();
+        questions = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            patterns.add(TestCatalog.pattern("Pattern " + p, "Category", p + 2, "Model " + p));
+        }
+        // Patterns interleaved in catalog order, with varied difficulty and length
+        for (int i = 0; i < 40; i++) {
+            questions.add(TestCatalog.question("Question " + i, DIFFICULTIES[(i * 7) % 3], 10 + (i * 13) % 45,
+                    i + 1, patterns.get(i % patterns.size())));
+        }
+
+        QuestionCatalog questionCatalog = mock(QuestionCatalog.class);
+        when(questionCatalog.snapshot()).thenReturn(TestCatalog.snapshot(1, questions));
+        patternStatsRepository = mock(UserPatternStatsRepository.class);
+        userQuestionRepository = mock(UserQuestionRepository.class);
+        recommender = new QuestionRecommender(questionCatalog, patternStatsRepository, userQuestionRepository);
+
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("recommender@example.com")
+                .interviewTargetDays(90.0)
+                .currentReadinessDays(60.0)
+                .build();
+        when(patternStatsRepository.findByUserId(user.getId())).thenReturn(List.of());
+        when(userQuestionRepository.findQuestionStatusByUserId(user.getId())).thenReturn(List.of());
+    }
+
+    @Test
+    void topKMatchesThePrefixOfTheFullRanking() {
+        statuses(status(0, Status.DONE), status(5, Status.STARTED), status(9, Status.DONE));
+        stats(weakStats(patterns.get(1)));
+
+        List<Recommendation> all = recommender.recommend(user, questions.size());
+
+        assertThat(all).hasSize(questions.size() - 2);
+        for (int i = 1; i < all.size(); i++) {
+            assertThat(all.get(i - 1).score()).isGreaterThanOrEqualTo(all.get(i).score());
+        }
+        for (int k = 1; k <= all.size(); k++) {
+            assertThat(recommender.recommend(user, k)).containsExactlyElementsOf(all.subList(0, k));
+        }
+    }
+
+    @Test
+    void solvedQuestionsAreNeverRecommended() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < questions.size(); i++) {
+            if (i != 17) {
+                rows.add(status(i, Status.DONE));
+            }
+        }
+        when(userQuestionRepository.findQuestionStatusByUserId(user.getId())).thenReturn(rows);
+
+        List<Recommendation> recommendations = recommender.recommend(user, 5);
+
+        assertThat(recommendations).extracting(Recommendation::question).containsExactly(questions.get(17));
+    }
+
+    @Test
+    void limitZeroOrEmptyCandidatesGiveNothing() {
+        assertThat(recommender.recommend(user, 0)).isEmpty();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < questions.size(); i++) {
+            rows.add(status(i, Status.DONE));
+        }
+        when(userQuestionRepository.findQuestionStatusByUserId(user.getId())).thenReturn(rows);
+
+        assertThat(recommender.recommend(user, 5)).isEmpty();
+    }
+
+    @Test
+    void startedQuestionsAreMarkedInProgress() {
+        statuses(status(38, Status.STARTED));
+
+        Recommendation started = recommender.recommend(user, questions.size()).stream()
+                .filter(r -> r.question().equals(questions.get(38)))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(started.reason()).isEqualTo(Reason.IN_PROGRESS);
+    }
+
+    @Test
+    void weakPatternsRankHigherThanNewOnes() {
+        List<Recommendation> before = recommender.recommend(user, questions.size());
+        stats(weakStats(patterns.get(1)));
+
+        List<Recommendation> after = recommender.recommend(user, questions.size());
+
+        for (Recommendation r : after) {
+            boolean weak = r.question().pattern().equals(patterns.get(1));
+            assertThat(r.reason()).as(r.question().title())
+                    .isEqualTo(weak ? Reason.WEAK_PATTERN : Reason.NEW_PATTERN);
+            double previous = before.stream()
+                    .filter(b -> b.question().equals(r.question()))
+                    .findFirst()
+                    .orElseThrow()
+                    .score();
+            if (weak) {
+                assertThat(r.score()).isGreaterThan(previous);
+            } else {
+                assertThat(r.score()).isEqualTo(previous);
+            }
+        }
+    }
+
+    private UserPatternStats weakStats(CatalogPattern pattern) {
+        return UserPatternStats.builder()
+                .pattern(Pattern.builder().id(pattern.id()).build())
+                .questionsAttempted(4)
+                .questionsCompleted(1)
+                .avgConfidence(1.0)
+                .lastPracticedAt(Instant.now().minus(Duration.ofDays(40)))
+                .build();
+    }
+
+    private Object[] status(int position, Status status) {
+        return new Object[] { questions.get(position).id(), status };
+    }
+
+    private void statuses(Object[]... rows) {
+        when(userQuestionRepository.findQuestionStatusByUserId(user.getId())).thenReturn(List.of(rows));
+    }
+
+    private void stats(UserPatternStats... stats) {
+        when(patternStatsRepository.findByUserId(user.getId())).thenReturn(List.of(stats));
+    }
+}
@@ -0,0 +1,103 @@
+package com.rewind.service;
+
+import com.rewind.service.QuestionCatalog.CatalogPattern;
+import com.rewind.service.QuestionCatalog.CatalogQuestion;
+import com.rewind.service.QuestionSearchIndex.Hit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QuestionSearchIndexTest {
+
+    private QuestionCatalog questionCatalog;
+    private QuestionSearchIndex searchIndex;
+
+    private CatalogQuestion twoSum;
+    private CatalogQuestion container;
+    private CatalogQuestion stairs;
+
+    @BeforeEach
+    void setUp() {
+        CatalogPattern hashing = TestCatalog.pattern("Hashing", "Arrays", 5, "Store complements in a map");
+        CatalogPattern twoPointers = TestCatalog.pattern("Two Pointers", "Arrays", 5,
+                "Shrink the window from both ends");
+        CatalogPattern dp = TestCatalog.pattern("Dynamic Programming", "DP", 4, "Build from smaller subproblems");
+        twoSum = TestCatalog.question("Two Sum", "Easy", 15, 1, hashing);
+        container = TestCatalog.question("Container With Most Water", "Medium", 25, 2, twoPointers);
+        stairs = TestCatalog.question("Climbing Stairs", "Easy", 15, 3, dp);
+
+        questionCatalog = mock(QuestionCatalog.class);
+        when(questionCatalog.snapshot()).thenReturn(TestCatalog.snapshot(1, List.of(twoSum, container, stairs)));
+        searchIndex = new QuestionSearchIndex(questionCatalog);
+    }
+
+    @Test
+    void titleMatchOutranksPatternNameMatch() {
+        List<Hit> hits = searchIndex.search("two", 10);
+
+        assertThat(hits).extracting(Hit::question).containsExactly(twoSum, container);
+        assertThat(hits.get(0).score()).isCloseTo(3.0, within(1e-9));
+        assertThat(hits.get(1).score()).isCloseTo(2.0, within(1e-9));
+    }
+
+    @Test
+    void termsAddUpAcrossTheQuery() {
+        List<Hit> hits = searchIndex.search("Two Sum", 10);
+
+        assertThat(hits.get(0).question()).isEqualTo(twoSum);
+        assertThat(hits.get(0).score()).isCloseTo(6.0, within(1e-9));
+    }
+
+    @Test
+    void prefixMatchesScoreBelowExactMatches() {
+        List<Hit> hits = searchIndex.search("cont", 10);
+
+        assertThat(hits).extracting(Hit::question).containsExactly(container);
+        assertThat(hits.get(0).score()).isCloseTo(0.9 * 3.0, within(1e-9));
+    }
+
+    @Test
+    void typosMatchBySharedTrigrams() {
+        List<Hit> hits = searchIndex.search("contaner", 10);
+
+        assertThat(hits).extracting(Hit::question).containsExactly(container);
+        // 7 shared trigrams out of 12 distinct, on a title term
+        assertThat(hits.get(0).score()).isCloseTo(7.0 / 12 * 3.0, within(1e-9));
+    }
+
+    @Test
+    void mentalModelsAndCategoriesAreSearchable() {
+        assertThat(searchIndex.search("subproblems", 10)).extracting(Hit::question).containsExactly(stairs);
+        assertThat(searchIndex.search("arrays", 10)).extracting(Hit::question)
+                .containsExactly(twoSum, container);
+    }
+
+    @Test
+    void tiesKeepCatalogOrderAndLimitApplies() {
+        List<Hit> hits = searchIndex.search("arrays", 1);
+
+        assertThat(hits).extracting(Hit::question).containsExactly(twoSum);
+    }
+
+    @Test
+    void unrelatedOrEmptyQueriesFindNothing() {
+        assertThat(searchIndex.search("xyzzy", 10)).isEmpty();
+        assertThat(searchIndex.search("  --  ", 10)).isEmpty();
+    }
+
+    @Test
+    void indexFollowsNewCatalogVersions() {
+        assertThat(searchIndex.search("stairs", 10)).extracting(Hit::question).containsExactly(stairs);
+
+        when(questionCatalog.snapshot()).thenReturn(TestCatalog.snapshot(2, List.of(twoSum, container)));
+
+        assertThat(searchIndex.search("stairs", 10)).isEmpty();
+        assertThat(searchIndex.search("two", 10)).hasSize(2);
+    }
+}
@@ -0,0 +1,149 @@
+package com.rewind.service;
+
+import com.rewind.model.UserQuestion;
+import com.rewind.service.SpacedRepetitionEngine.Rating;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SpacedRepetitionEngineTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    private SpacedRepetitionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new SpacedRepetitionEngine();
+        ReflectionTestUtils.setField(engine, "desiredRetention", 0.9);
+        ReflectionTestUtils.setField(engine, "maximumIntervalDays", 365);
+    }
+
+    @Test
+    void firstReviewUsesInitialParameters() {
+        UserQuestion uq = UserQuestion.builder().build();
+
+        engine.review(uq, Rating.GOOD, NOW);
+
+        assertThat(uq.getSrsStability()).isEqualTo(3.7145);
+        assertThat(uq.getSrsDifficulty()).isCloseTo(5.1618, within(1e-9));
+        assertThat(uq.getSrsLastReviewAt()).isEqualTo(NOW);
+        // At 90% retention the interval equals the stability in days
+        assertThat(uq.getSrsDueAt()).isEqualTo(NOW.plus(4, ChronoUnit.DAYS));
+        assertThat(uq.getSrsReps()).isEqualTo(1);
+        assertThat(uq.getSrsLapses()).isZero();
+    }
+
+    @Test
+    void firstReviewRatingShapesInitialState() {
+        UserQuestion again = UserQuestion.builder().build();
+        UserQuestion easy = UserQuestion.builder().build();
+
+        engine.review(again, Rating.AGAIN, NOW);
+        engine.review(easy, Rating.EASY, NOW);
+
+        assertThat(again.getSrsStability()).isEqualTo(0.4872);
+        assertThat(again.getSrsDifficulty()).isCloseTo(7.6214, within(1e-9));
+        // Never due sooner than the next day
+        assertThat(again.getSrsDueAt()).isEqualTo(NOW.plus(1, ChronoUnit.DAYS));
+        assertThat(again.getSrsLapses()).isEqualTo(1);
+
+        assertThat(easy.getSrsStability()).isEqualTo(13.8206);
+        assertThat(easy.getSrsDifficulty()).isCloseTo(3.932, within(1e-9));
+        assertThat(easy.getSrsDueAt()).isEqualTo(NOW.plus(14, ChronoUnit.DAYS));
+    }
+
+    @Test
+    void retrievabilityIsDesiredRetentionAtStability() {
+        UserQuestion uq = UserQuestion.builder().build();
+        engine.review(uq, Rating.GOOD, NOW);
+
+        Instant afterStability = NOW.plus(Duration.ofSeconds(Math.round(uq.getSrsStability() * 86400)));
+
+        assertThat(engine.retrievability(uq, NOW)).isEqualTo(1.0);
+        assertThat(engine.retrievability(uq, afterStability)).isCloseTo(0.9, within(1e-6));
+        assertThat(engine.retrievability(uq, NOW.plus(30, ChronoUnit.DAYS))).isLessThan(0.9);
+    }
+
+    @Test
+    void retrievabilityWithoutStateIsOne() {
+        assertThat(engine.retrievability(UserQuestion.builder().build(), NOW)).isEqualTo(1.0);
+    }
+
+    @Test
+    void successfulRecallOnTimeGrowsStability() {
+        UserQuestion uq = UserQuestion.builder().build();
+        engine.review(uq, Rating.GOOD, NOW);
+        double firstStability = uq.getSrsStability();
+        Instant due = uq.getSrsDueAt();
+
+        engine.review(uq, Rating.GOOD, due);
+
+        assertThat(uq.getSrsStability()).isGreaterThan(firstStability);
+        // "Good" keeps the difficulty at its mean-reversion target
+        assertThat(uq.getSrsDifficulty()).isCloseTo(5.1618, within(1e-9));
+        assertThat(uq.getSrsDueAt()).isAfter(due.plus(4, ChronoUnit.DAYS));
+        assertThat(uq.getSrsReps()).isEqualTo(2);
+    }
+
+    @Test
+    void lapseNeverIncreasesStability() {
+        UserQuestion uq = UserQuestion.builder().build();
+        engine.review(uq, Rating.EASY, NOW);
+        double stability = uq.getSrsStability();
+        double difficulty = uq.getSrsDifficulty();
+
+        engine.review(uq, Rating.AGAIN, uq.getSrsDueAt());
+
+        assertThat(uq.getSrsStability()).isLessThanOrEqualTo(stability).isGreaterThanOrEqualTo(0.1);
+        assertThat(uq.getSrsDifficulty()).isGreaterThan(difficulty);
+        assertThat(uq.getSrsLapses()).isEqualTo(1);
+    }
+
+    @Test
+    void intervalIsCappedAtMaximum() {
+        ReflectionTestUtils.setField(engine, "maximumIntervalDays", 30);
+        UserQuestion uq = UserQuestion.builder().build();
+
+        Instant reviewedAt = NOW;
+        for (int i = 0; i < 6; i++) {
+            engine.review(uq, Rating.EASY, reviewedAt);
+            assertThat(Duration.between(reviewedAt, uq.getSrsDueAt()).toDays()).isBetween(1L, 30L);
+            reviewedAt = uq.getSrsDueAt();
+        }
+        assertThat(Duration.between(uq.getSrsLastReviewAt(), uq.getSrsDueAt()).toDays()).isEqualTo(30);
+    }
+
+    @Test
+    void difficultyStaysWithinBounds() {
+        UserQuestion hard = UserQuestion.builder().build();
+        UserQuestion easy = UserQuestion.builder().build();
+
+        Instant reviewedAt = NOW;
+        for (int i = 0; i < 20; i++) {
+            engine.review(hard, Rating.AGAIN, reviewedAt);
+            engine.review(easy, Rating.EASY, reviewedAt);
+            reviewedAt = reviewedAt.plus(1, ChronoUnit.DAYS);
+        }
+
+        assertThat(hard.getSrsDifficulty()).isBetween(1.0, 10.0);
+        assertThat(easy.getSrsDifficulty()).isBetween(1.0, 10.0);
+    }
+
+    @Test
+    void confidenceMapsToRating() {
+        assertThat(SpacedRepetitionEngine.ratingForConfidence(null)).isEqualTo(Rating.GOOD);
+        assertThat(SpacedRepetitionEngine.ratingForConfidence(1)).isEqualTo(Rating.AGAIN);
+        assertThat(SpacedRepetitionEngine.ratingForConfidence(2)).isEqualTo(Rating.HARD);
+        assertThat(SpacedRepetitionEngine.ratingForConfidence(3)).isEqualTo(Rating.GOOD);
+        assertThat(SpacedRepetitionEngine.ratingForConfidence(4)).isEqualTo(Rating.GOOD);
+        assertThat(SpacedRepetitionEngine.ratingForConfidence(5)).isEqualTo(Rating.EASY);
+    }
+}
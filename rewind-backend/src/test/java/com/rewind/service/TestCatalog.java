@@ -0,0 +1,52 @@
+package com.rewind.service;
+
+import com.rewind.service.QuestionCatalog.CatalogPattern;
+import com.rewind.service.QuestionCatalog.CatalogQuestion;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds catalog snapshots in memory for unit tests, indexed the same way as
+ * QuestionCatalog does when it loads from the database.
+ */
+final class TestCatalog {
+
+    private TestCatalog() {
+    }
+
+    static CatalogPattern pattern(String name, String category, int importanceWeight, String mentalModel) {
+        return new CatalogPattern(UUID.randomUUID(), name, category, importanceWeight, mentalModel);
+    }
+
+    static CatalogQuestion question(String title, String difficulty, int timeMinutes, int orderIndex,
+            CatalogPattern pattern) {
+        return new CatalogQuestion(UUID.randomUUID(), title, difficulty, "https://leetcode.com/problems/x",
+                timeMinutes, orderIndex, pattern);
+    }
+
+    /**
+     * Snapshot of the given questions, which must already be in order_index order.
+     */
+    static QuestionCatalog.Snapshot snapshot(long version, List<CatalogQuestion> questions) {
+        Map<UUID, CatalogPattern> patternsById = new LinkedHashMap<>();
+        Map<UUID, CatalogQuestion> byId = new HashMap<>();
+        Map<UUID, Integer> positions = new HashMap<>();
+        Map<UUID, List<CatalogQuestion>> byPattern = new HashMap<>();
+        Map<String, List<CatalogQuestion>> byDifficulty = new HashMap<>();
+        for (int i = 0; i < questions.size(); i++) {
+            CatalogQuestion q = questions.get(i);
+            patternsById.putIfAbsent(q.pattern().id(), q.pattern());
+            byId.put(q.id(), q);
+            positions.put(q.id(), i);
+            byPattern.computeIfAbsent(q.pattern().id(), id -> new ArrayList<>()).add(q);
+            byDifficulty.computeIfAbsent(q.difficulty(), d -> new ArrayList<>()).add(q);
+        }
+        return new QuestionCatalog.Snapshot(version, 1, List.copyOf(questions),
+                List.copyOf(patternsById.values()), byId, positions, patternsById, byPattern, byDifficulty);
+    }
+}